@@ -0,0 +1,35 @@
+package com.api.product_control.benchmarks;
+
+import com.api.product_control.dtos.ProductDto;
+import com.api.product_control.models.ProductModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CopyPropertiesBenchmark {
+
+    private final ProductDto productDto = new ProductDto("Smartphone Xiaomi Redmi Note 11", new BigDecimal("2000.00"));
+
+    @Benchmark
+    public ProductModel beanUtilsCopyProperties(){
+        var productModel = new ProductModel();
+        BeanUtils.copyProperties(productDto, productModel);
+        return productModel;
+    }
+
+    @Benchmark
+    public ProductModel explicitSetters(){
+        var productModel = new ProductModel();
+        productModel.setName(productDto.name());
+        productModel.setValue(productDto.value());
+        return productModel;
+    }
+}
@@ -0,0 +1,107 @@
+package com.api.product_control.benchmarks;
+
+import com.api.product_control.models.UuidV7Generator;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.ByteBuffer;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * Insert throughput into a clustered BINARY(16) primary key that already holds preloadedRows rows.
+ * Meant to run against MySQL/InnoDB, where random keys stop fitting the buffer pool as the table grows:
+ *   BENCHMARK_JDBC_URL=jdbc:mysql://localhost:3306/bench?rewriteBatchedStatements=true \
+ *   BENCHMARK_JDBC_USER=root BENCHMARK_JDBC_PASSWORD=admin \
+ *   mvn -Pbenchmark -DskipTests verify -Dbenchmark.include=InsertOrder
+ * Without BENCHMARK_JDBC_URL it falls back to an in-memory H2 database (VALUE un-reserved, as in MySQL), which
+ * only fits the smaller sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class InsertOrderBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public enum KeyType {
+        RANDOM_V4(UUID::randomUUID),
+        TIME_ORDERED_V7(UuidV7Generator::next);
+
+        final Supplier<UUID> generator;
+
+        KeyType(Supplier<UUID> generator) {
+            this.generator = generator;
+        }
+    }
+
+    @Param({"1000000", "10000000", "50000000"})
+    public long preloadedRows;
+
+    @Param({"RANDOM_V4", "TIME_ORDERED_V7"})
+    public KeyType keyType;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                env("BENCHMARK_JDBC_URL", "jdbc:h2:mem:inserts;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1"),
+                env("BENCHMARK_JDBC_USER", "sa"),
+                env("BENCHMARK_JDBC_PASSWORD", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS BENCH_PRODUCTS");
+            statement.execute("CREATE TABLE BENCH_PRODUCTS (id_product BINARY(16) NOT NULL PRIMARY KEY, "
+                    + "name VARCHAR(255), value DECIMAL(38,2))");
+        }
+        insert = connection.prepareStatement("INSERT INTO BENCH_PRODUCTS (id_product, name, value) VALUES (?, ?, ?)");
+        while (sequence < preloadedRows) {
+            insertBatch();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE BENCH_PRODUCTS");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setBytes(1, toBytes(keyType.generator.get()));
+            insert.setString(2, "Product " + sequence++);
+            insert.setBigDecimal(3, java.math.BigDecimal.valueOf(sequence % 100000, 2));
+            insert.addBatch();
+        }
+        insert.executeBatch();
+        connection.commit();
+    }
+
+    private static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private static String env(String name, String defaultValue) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? defaultValue : value;
+    }
+}
@@ -0,0 +1,59 @@
+package com.api.product_control.benchmarks;
+
+import com.api.product_control.controllers.ProductController;
+import com.api.product_control.controllers.ProductLinks;
+import com.api.product_control.dtos.ProductView;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LinkBuildingBenchmark {
+
+    @Param({"100"})
+    public int pageSize;
+
+    private List<ProductView> page;
+    private final ProductLinks productLinks = new ProductLinks(true);
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(
+                new MockHttpServletRequest("GET", "/products")));
+        page = new ArrayList<>(pageSize);
+        for(int i = 0; i < pageSize; i++){
+            page.add(new ProductView(UUID.randomUUID(), "Product " + i, new BigDecimal("199.90"), 0L));
+        }
+    }
+
+    @Benchmark
+    public List<EntityModel<ProductView>> methodOnProxyPerItem(){
+        List<EntityModel<ProductView>> models = new ArrayList<>(page.size());
+        for(ProductView product : page){
+            models.add(EntityModel.of(product, linkTo(methodOn(ProductController.class)
+                    .getOneProduct(product.idProduct(), true, null, null)).withSelfRel()));
+        }
+        return models;
+    }
+
+    @Benchmark
+    public List<EntityModel<ProductView>> precomputedBaseUri(){
+        return productLinks.withSelfLinks(page, true);
+    }
+}
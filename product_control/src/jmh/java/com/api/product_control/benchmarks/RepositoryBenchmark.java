@@ -0,0 +1,85 @@
+package com.api.product_control.benchmarks;
+
+import com.api.product_control.ProductControlApplication;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"10000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private List<UUID> ids;
+
+    @Setup(Level.Trial)
+    public void setUp(){
+        // H2 reserves VALUE, which Hibernate does not quote. Both Hibernate caches are off as well, so findById
+        // and existsByName measure the database path rather than a cache hit.
+        context = new SpringApplicationBuilder(ProductControlApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=MySQL;NON_KEYWORDS=VALUE;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.flyway.enabled=false",
+                        "spring.threads.virtual.enabled=false",
+                        "product.cache.enabled=false",
+                        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+                        "spring.jpa.properties.hibernate.cache.use_query_cache=false",
+                        "logging.level.root=WARN")
+                .run();
+        productRepository = context.getBean(ProductRepository.class);
+        var products = new ArrayList<ProductModel>(rows);
+        for(int i = 0; i < rows; i++){
+            var productModel = new ProductModel();
+            productModel.setName("Product " + i);
+            productModel.setValue(BigDecimal.valueOf(i % 1000, 2));
+            products.add(productModel);
+        }
+        ids = productRepository.saveAll(products).stream().map(ProductModel::getIdProduct).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown(){
+        context.close();
+    }
+
+    @Benchmark
+    public Page<ProductModel> findAllDeepPage(){
+        return productRepository.findAll(PageRequest.of(rows / 100 - 1, 100, Sort.by("idProduct")));
+    }
+
+    @Benchmark
+    public Optional<ProductModel> findById(){
+        return productRepository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public boolean existsByName(){
+        return productRepository.existsByNameKey("product " + ThreadLocalRandom.current().nextInt(rows));
+    }
+}
@@ -0,0 +1,76 @@
+package com.api.product_control.benchmarks;
+
+import com.api.product_control.dtos.ProductView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.mediatype.MessageResolver;
+import org.springframework.hateoas.mediatype.hal.CurieProvider;
+import org.springframework.hateoas.mediatype.hal.Jackson2HalModule;
+import org.springframework.hateoas.server.core.AnnotationLinkRelationProvider;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"1", "100"})
+    public int pageSize;
+
+    private ObjectMapper halMapper;
+    private ObjectMapper plainMapper;
+    private ObjectMapper cborMapper;
+    private ObjectMapper smileMapper;
+    private List<EntityModel<ProductView>> models;
+    private List<ProductView> views;
+
+    @Setup
+    public void setUp(){
+        halMapper = new ObjectMapper().registerModule(new Jackson2HalModule());
+        halMapper.setHandlerInstantiator(new Jackson2HalModule.HalHandlerInstantiator(
+                new AnnotationLinkRelationProvider(), CurieProvider.NONE, MessageResolver.DEFAULTS_ONLY));
+        plainMapper = new ObjectMapper();
+        cborMapper = new CBORMapper();
+        smileMapper = new SmileMapper();
+        models = new ArrayList<>(pageSize);
+        views = new ArrayList<>(pageSize);
+        for(int i = 0; i < pageSize; i++){
+            var productView = new ProductView(UUID.randomUUID(), "Product " + i, new BigDecimal("199.90"), 0L);
+            views.add(productView);
+            models.add(EntityModel.of(productView,
+                    Link.of("http://localhost:8080/products/" + productView.idProduct())));
+        }
+    }
+
+    @Benchmark
+    public byte[] viewWithHalLinks() throws Exception {
+        return halMapper.writeValueAsBytes(models);
+    }
+
+    @Benchmark
+    public byte[] plainView() throws Exception {
+        return plainMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] cborView() throws Exception {
+        return cborMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] smileView() throws Exception {
+        return smileMapper.writeValueAsBytes(views);
+    }
+}
@@ -0,0 +1,134 @@
+package com.api.product_control.benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Time from launching the JVM to the first successful GET /products, for the jar built and extracted by the
+ * fast-startup profile, with and without the AOT initializers and the class data sharing archive:
+ *   BENCHMARK_JDBC_URL=jdbc:mysql://localhost:3306/product_control_db \
+ *   BENCHMARK_JDBC_USER=root BENCHMARK_JDBC_PASSWORD=admin \
+ *   mvn -Pfast-startup,benchmark -DskipTests verify -Dbenchmark.include=Startup
+ * The running application also reports the same interval as the application.ready.time metric.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final Path EXTRACTED = Path.of("target", "extracted");
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    public enum LaunchMode {
+        DEFAULT(false, false),
+        AOT(true, false),
+        CDS(false, true),
+        AOT_CDS(true, true);
+
+        final boolean aot;
+        final boolean cds;
+
+        LaunchMode(boolean aot, boolean cds) {
+            this.aot = aot;
+            this.cds = cds;
+        }
+    }
+
+    @Param({"DEFAULT", "AOT", "CDS", "AOT_CDS"})
+    public LaunchMode mode;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private Path jar;
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        try (Stream<Path> files = Files.list(EXTRACTED)) {
+            jar = files.filter(file -> file.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException("Run the fast-startup profile first: no jar in " + EXTRACTED));
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        process = new ProcessBuilder(command(port))
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        var request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/products?size=1")).build();
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("The application exited with code " + process.exitValue());
+            }
+            try {
+                var response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() == 200) {
+                    return response.statusCode();
+                }
+            } catch (IOException ex) {
+                // not listening yet
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("No successful response within " + TIMEOUT);
+    }
+
+    @TearDown(Level.Invocation)
+    public void stop() throws InterruptedException {
+        if (process != null) {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+            process = null;
+        }
+    }
+
+    private List<String> command(int port) {
+        var command = new ArrayList<String>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (mode.cds) {
+            command.add("-XX:SharedArchiveFile=" + EXTRACTED.resolve("application.jsa"));
+        }
+        command.add("-Dspring.aot.enabled=" + mode.aot);
+        command.add("-Dserver.port=" + port);
+        command.add("-Dlogging.level.root=WARN");
+        env("BENCHMARK_JDBC_URL", command, "spring.datasource.url");
+        env("BENCHMARK_JDBC_USER", command, "spring.datasource.username");
+        env("BENCHMARK_JDBC_PASSWORD", command, "spring.datasource.password");
+        command.add("-jar");
+        command.add(jar.toString());
+        return command;
+    }
+
+    private static void env(String name, List<String> command, String property) {
+        String value = System.getenv(name);
+        if (value != null) {
+            command.add("-D" + property + "=" + value);
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (var socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.api.product_control.configs;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.LongSupplier;
+
+/*
+ * AIMD concurrency limit for one class of endpoints. Every request that completes within the latency threshold
+ * while the limit is in use adds 1/limit, so the limit grows by about one per limit's worth of requests; a slow
+ * or failed request multiplies it by the backoff ratio, at most once per threshold so one burst of slow
+ * requests counts as a single congestion signal. Requests over the limit are refused instead of queueing.
+ */
+class AdaptiveConcurrencyLimit {
+
+    static final String METRIC = "product.admission";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final LongSupplier nanoClock;
+    private final Counter accepted;
+    private final Counter rejected;
+
+    private double limit;
+    private int inFlight;
+    private long lastDecreaseNanos;
+
+    AdaptiveConcurrencyLimit(String endpoint, ProductAdmissionProperties.Limit properties, double backoffRatio,
+                             MeterRegistry meterRegistry) {
+        this(endpoint, properties, backoffRatio, meterRegistry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimit(String endpoint, ProductAdmissionProperties.Limit properties, double backoffRatio,
+                             MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.backoffRatio = backoffRatio;
+        this.nanoClock = nanoClock;
+        this.limit = Math.clamp(properties.initialLimit(), minLimit, maxLimit);
+        this.lastDecreaseNanos = nanoClock.getAsLong() - latencyThresholdNanos;
+        Gauge.builder(METRIC + ".limit", this, AdaptiveConcurrencyLimit::limit)
+                .description("Concurrent requests currently admitted for the endpoint class")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".in-flight", this, AdaptiveConcurrencyLimit::inFlight)
+                .description("Admitted requests still running for the endpoint class")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        this.accepted = meterRegistry.counter(METRIC, "endpoint", endpoint, "outcome", "accepted");
+        this.rejected = meterRegistry.counter(METRIC, "endpoint", endpoint, "outcome", "rejected");
+    }
+
+    boolean tryAcquire(){
+        synchronized (this) {
+            if(inFlight >= (int) limit){
+                rejected.increment();
+                return false;
+            }
+            inFlight++;
+        }
+        accepted.increment();
+        return true;
+    }
+
+    synchronized void release(long latencyNanos, boolean failed){
+        int wasInFlight = inFlight--;
+        if(failed || latencyNanos > latencyThresholdNanos){
+            long now = nanoClock.getAsLong();
+            if(now - lastDecreaseNanos >= latencyThresholdNanos){
+                limit = Math.max(minLimit, limit * backoffRatio);
+                lastDecreaseNanos = now;
+            }
+        } else if(wasInFlight * 2 >= limit){
+            // Only grow while the limit is actually being used, otherwise it drifts to the maximum when idle.
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+    }
+
+    synchronized int limit(){
+        return (int) limit;
+    }
+
+    synchronized int inFlight(){
+        return inFlight;
+    }
+}
@@ -0,0 +1,28 @@
+package com.api.product_control.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/*
+ * The configurer is a bean of a regular configuration class rather than a scanned WebMvcConfigurer, so
+ * @WebMvcTest slices, which have no MeterRegistry, leave it out.
+ */
+@Configuration
+public class AdmissionControlConfig {
+
+    @Bean
+    public WebMvcConfigurer admissionControlConfigurer(ProductAdmissionProperties properties, MeterRegistry meterRegistry){
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry){
+                if(properties.enabled()){
+                    registry.addInterceptor(new AdmissionControlInterceptor(properties, meterRegistry))
+                            .addPathPatterns("/products", "/products/**");
+                }
+            }
+        };
+    }
+}
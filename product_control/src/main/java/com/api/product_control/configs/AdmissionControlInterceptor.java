@@ -0,0 +1,85 @@
+package com.api.product_control.configs;
+
+import com.api.product_control.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Sheds load before it reaches the connection pool: writes, list pages and point reads each get their own
+ * adaptive limit, so a slow database that backs up the writes and list queries still leaves room for cheap
+ * reads. A refused request fails at once with 503 and Retry-After. Batch endpoints, streaming import/export, the
+ * change feed and queued price updates are left out: their duration depends on the payload or on the client,
+ * not on database latency.
+ */
+public class AdmissionControlInterceptor implements HandlerInterceptor {
+
+    private static final String PERMIT = AdmissionControlInterceptor.class.getName() + ".PERMIT";
+
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final Set<String> WRITE_PATTERNS = Set.of("/products", "/products/{id}");
+    private static final Set<String> LIST_PATTERNS = Set.of("/products", "/products/scroll", "/products/search",
+            "/products/search/scroll");
+    private static final String READ_PATTERN = "/products/{id}";
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits;
+    private final Duration retryAfter;
+
+    public AdmissionControlInterceptor(ProductAdmissionProperties properties, MeterRegistry meterRegistry) {
+        this(Map.of(
+                "writes", new AdaptiveConcurrencyLimit("writes", properties.writes(), properties.backoffRatio(), meterRegistry),
+                "lists", new AdaptiveConcurrencyLimit("lists", properties.lists(), properties.backoffRatio(), meterRegistry),
+                "reads", new AdaptiveConcurrencyLimit("reads", properties.reads(), properties.backoffRatio(), meterRegistry)),
+                properties.retryAfter());
+    }
+
+    AdmissionControlInterceptor(Map<String, AdaptiveConcurrencyLimit> limits, Duration retryAfter) {
+        this.limits = limits;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler){
+        String endpoint = classify(request);
+        if(endpoint == null){
+            return true;
+        }
+        AdaptiveConcurrencyLimit limit = limits.get(endpoint);
+        if(!limit.tryAcquire()){
+            throw new ServiceUnavailableException("Too many concurrent " + endpoint + " requests. Try again later.",
+                    retryAfter);
+        }
+        request.setAttribute(PERMIT, new Permit(limit, System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex){
+        if(request.getAttribute(PERMIT) instanceof Permit permit){
+            request.removeAttribute(PERMIT);
+            permit.limit().release(System.nanoTime() - permit.startedAt(), ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    static String classify(HttpServletRequest request){
+        if(!(request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE) instanceof String pattern)){
+            return null;
+        }
+        if(!READ_METHODS.contains(request.getMethod())){
+            return WRITE_PATTERNS.contains(pattern) ? "writes" : null;
+        }
+        if(LIST_PATTERNS.contains(pattern)){
+            return "lists";
+        }
+        return READ_PATTERN.equals(pattern) ? "reads" : null;
+    }
+
+    private record Permit(AdaptiveConcurrencyLimit limit, long startedAt) {
+    }
+}
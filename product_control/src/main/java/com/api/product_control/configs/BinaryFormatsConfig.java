@@ -0,0 +1,53 @@
+package com.api.product_control.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+ * CBOR (application/cbor) and Smile (application/x-jackson-smile) for service-to-service clients that ask for
+ * them in Accept. Both mappers come from Boot's builder, so they share the modules and settings of the JSON
+ * one; JSON stays the default because its converter comes first.
+ */
+@Configuration
+public class BinaryFormatsConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder){
+        return new MappingJackson2CborHttpMessageConverter(builder.cbor().build());
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder){
+        return new MappingJackson2SmileHttpMessageConverter(builder.smile().build());
+    }
+
+    @Bean
+    public FilterRegistrationBean<VaryAcceptFilter> varyAcceptFilter(){
+        return new FilterRegistrationBean<>(new VaryAcceptFilter());
+    }
+
+    /*
+     * The same URL now has several representations, so shared caches must key them by Accept as well.
+     */
+    static class VaryAcceptFilter extends OncePerRequestFilter {
+
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            filterChain.doFilter(request, response);
+        }
+    }
+}
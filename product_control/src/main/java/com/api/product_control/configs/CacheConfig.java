@@ -0,0 +1,37 @@
+package com.api.product_control.configs;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PRODUCTS_CACHE = "products";
+
+    @Bean
+    public CacheManager cacheManager(ProductCacheProperties properties){
+        if(!properties.enabled()){
+            return new NoOpCacheManager();
+        }
+        var cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(new CaffeineCache(PRODUCTS_CACHE, build(properties.products()), false)));
+        return cacheManager;
+    }
+
+    private static com.github.benmanes.caffeine.cache.Cache<Object, Object> build(ProductCacheProperties.Region region){
+        return Caffeine.newBuilder()
+                .maximumSize(region.maximumSize())
+                .expireAfterWrite(region.expireAfterWrite())
+                .recordStats()
+                .build();
+    }
+}
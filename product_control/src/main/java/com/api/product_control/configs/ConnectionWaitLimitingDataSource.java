@@ -0,0 +1,65 @@
+package com.api.product_control.configs;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * With virtual threads nothing bounds how many requests reach the pool at once, so thousands of
+ * threads could queue inside Hikari until their connection timeout expires. Past the configured
+ * number of waiters new callers fail immediately instead.
+ */
+public class ConnectionWaitLimitingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+    private final int maxWaitingThreads;
+    private final AtomicInteger waitingThreads = new AtomicInteger();
+
+    public ConnectionWaitLimitingDataSource(DataSource targetDataSource, int maxWaitingThreads) {
+        super(targetDataSource);
+        this.maxWaitingThreads = maxWaitingThreads;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        enter();
+        try {
+            return super.getConnection();
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        enter();
+        try {
+            return super.getConnection(username, password);
+        } finally {
+            waitingThreads.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        // Lets the container close the wrapped pool on shutdown, since it only sees this wrapper.
+        if (getTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads.get();
+    }
+
+    private void enter() throws SQLTransientConnectionException {
+        if (waitingThreads.incrementAndGet() > maxWaitingThreads) {
+            waitingThreads.decrementAndGet();
+            throw new SQLTransientConnectionException(
+                    "Too many threads waiting for a database connection (limit " + maxWaitingThreads + ").");
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.product_control.configs;
+
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.observation.aop.ObservedAspect;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ObservabilityConfig {
+
+    @Bean
+    public ObservedAspect observedAspect(ObservationRegistry observationRegistry){
+        return new ObservedAspect(observationRegistry);
+    }
+}
@@ -0,0 +1,24 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.admission")
+public record ProductAdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("0.9") double backoffRatio,
+        @DefaultValue("1s") Duration retryAfter,
+        @DefaultValue Limit writes,
+        @DefaultValue Limit lists,
+        @DefaultValue Limit reads
+) {
+    public record Limit(
+            @DefaultValue("20") int initialLimit,
+            @DefaultValue("2") int minLimit,
+            @DefaultValue("200") int maxLimit,
+            @DefaultValue("250ms") Duration latencyThreshold
+    ) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "product.batch")
+public record ProductBatchProperties(@DefaultValue("500") int chunkSize) {
+}
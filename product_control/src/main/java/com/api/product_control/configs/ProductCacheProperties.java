@@ -0,0 +1,18 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.cache")
+public record ProductCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue Region products
+) {
+    public record Region(
+            @DefaultValue("10000") long maximumSize,
+            @DefaultValue("10m") Duration expireAfterWrite
+    ) {
+    }
+}
@@ -0,0 +1,14 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.changes")
+public record ProductChangeProperties(
+        @DefaultValue("1000") int maxLimit,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("15s") Duration keepAliveInterval
+) {
+}
@@ -0,0 +1,13 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.coalescing")
+public record ProductCoalescingProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("2s") Duration maxWait
+) {
+}
@@ -0,0 +1,21 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties(prefix = "product.datasource")
+public record ProductDataSourceProperties(
+        @DefaultValue List<Replica> replicas,
+        @DefaultValue("5s") Duration replicaHealthCheckInterval,
+        @DefaultValue("5s") Duration readYourWritesWindow
+) {
+    public record Replica(
+            String url,
+            String username,
+            String password
+    ) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.price-updates")
+public record ProductPriceUpdateProperties(
+        @DefaultValue("100000") int queueCapacity,
+        @DefaultValue("1s") Duration flushInterval,
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("30s") Duration shutdownTimeout
+) {
+}
@@ -0,0 +1,14 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties(prefix = "product.snapshot")
+public record ProductSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5s") Duration refreshInterval,
+        @DefaultValue("1000") int maxIncrementalChanges
+) {
+}
@@ -0,0 +1,72 @@
+package com.api.product_control.configs;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Active once product.datasource.replicas[0].url is set. Every pool gets the spring.datasource.hikari
+ * settings; replicas without credentials reuse the primary's.
+ */
+@Configuration
+@ConditionalOnProperty(name = "product.datasource.replicas[0].url")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(DataSourceProperties dataSourceProperties,
+                                                 ProductDataSourceProperties properties, Environment environment,
+                                                 ObjectProvider<MeterRegistry> meterRegistry){
+        DataSource primary = pool("product-primary", dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword(),
+                dataSourceProperties, environment, meterRegistry);
+        List<DataSource> replicas = new ArrayList<>();
+        for(int i = 0; i < properties.replicas().size(); i++){
+            ProductDataSourceProperties.Replica replica = properties.replicas().get(i);
+            replicas.add(pool("product-replica-" + i, replica.url(),
+                    replica.username() == null ? dataSourceProperties.determineUsername() : replica.username(),
+                    replica.password() == null ? dataSourceProperties.determinePassword() : replica.password(),
+                    dataSourceProperties, environment, meterRegistry));
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas, properties.replicaHealthCheckInterval());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ProductDataSourceProperties properties){
+        var registration = new FilterRegistrationBean<>(new ReadYourWritesFilter(properties.readYourWritesWindow()));
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static DataSource pool(String name, String url, String username, String password,
+                                   DataSourceProperties dataSourceProperties, Environment environment,
+                                   ObjectProvider<MeterRegistry> meterRegistry){
+        HikariDataSource pool = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        if(Threading.VIRTUAL.isActive(environment)){
+            return new ConnectionWaitLimitingDataSource(pool,
+                    environment.getProperty("product.datasource.max-waiting-threads", Integer.class, 200));
+        }
+        return pool;
+    }
+}
@@ -0,0 +1,134 @@
+package com.api.product_control.configs;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Sends read-only transactions to the replicas and everything else to the primary. The lazy proxy defers
+ * fetching the physical connection until the first statement, after the transaction manager has flagged it
+ * read-only. Replicas are used round-robin while their last health check passed; a replica that fails to
+ * hand out a connection is marked down and the read falls back to the primary.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final ThreadLocal<Boolean> PRIMARY_PINNED = new ThreadLocal<>();
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, Duration healthCheckInterval) {
+        super(primary);
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        setReadOnlyDataSource(new ReplicaSelector());
+        if (healthCheckInterval.isZero()) {
+            this.healthChecker = null;
+        } else {
+            this.healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                    .name("replica-health-check").daemon().factory());
+            this.healthChecker.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+     * Routes every read of the current thread to the primary, e.g. for a client that has just written
+     * and must not see a replica that is still behind.
+     */
+    static void pinToPrimary() {
+        PRIMARY_PINNED.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PRIMARY_PINNED.remove();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PRIMARY_PINNED.get() != null;
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                replica.healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            } catch (SQLException | RuntimeException ex) {
+                replica.healthy = false;
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        for (Replica replica : replicas) {
+            closeQuietly(replica.dataSource);
+        }
+        closeQuietly(primary);
+    }
+
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ignored) {
+                // Shutting down anyway; the remaining pools must still be closed.
+            }
+        }
+    }
+
+    private static class Replica {
+
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+
+        Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    private class ReplicaSelector extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            if (!isPinnedToPrimary()) {
+                for (int attempt = 0; attempt < replicas.size(); attempt++) {
+                    Replica replica = replicas.get(Math.floorMod(nextReplica.getAndIncrement(), replicas.size()));
+                    if (!replica.healthy) {
+                        continue;
+                    }
+                    try {
+                        return replica.dataSource.getConnection();
+                    } catch (SQLException ex) {
+                        replica.healthy = false;
+                    }
+                }
+            }
+            return primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+    }
+}
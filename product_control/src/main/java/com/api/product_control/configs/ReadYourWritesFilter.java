@@ -0,0 +1,81 @@
+package com.api.product_control.configs;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Set;
+
+/*
+ * Replicas lag behind the primary, so a client that has just written reads from the primary until the
+ * window has passed. The time of its last write travels in a cookie, which keeps the guarantee when the
+ * next request lands on another instance. Pinned reads also skip this instance's caches and catalog snapshot
+ * (see ProductService), which may still hold what another instance has since overwritten. Other clients keep
+ * reading from the replicas.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String LAST_WRITE_COOKIE = "product_last_write";
+
+    private static final Set<String> SAFE_METHODS = Set.of("GET", "HEAD", "OPTIONS", "TRACE");
+
+    private final long windowMillis;
+    private final Clock clock;
+
+    public ReadYourWritesFilter(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ReadYourWritesFilter(Duration window, Clock clock) {
+        this.windowMillis = window.toMillis();
+        this.clock = clock;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !SAFE_METHODS.contains(request.getMethod());
+        if(write){
+            // Set before the chain runs: streamed responses are committed before the request completes.
+            var cookie = new Cookie(LAST_WRITE_COOKIE, Long.toString(clock.millis()));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);
+        }
+        if(write || withinWindow(lastWriteOf(request))){
+            ReadWriteRoutingDataSource.pinToPrimary();
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.unpin();
+        }
+    }
+
+    private boolean withinWindow(long writeMillis){
+        return writeMillis > 0 && clock.millis() - writeMillis < windowMillis;
+    }
+
+    private static long lastWriteOf(HttpServletRequest request){
+        if(request.getCookies() == null){
+            return 0;
+        }
+        for(Cookie cookie : request.getCookies()){
+            if(LAST_WRITE_COOKIE.equals(cookie.getName())){
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,24 @@
+package com.api.product_control.configs;
+
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/*
+ * The schema is owned by the versioned scripts in db/migration and Hibernate only validates it. The class data
+ * sharing training run (spring.context.exit=onRefresh, see the fast-startup profile) has no database, so it
+ * skips the migration.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(Environment environment){
+        return flyway -> {
+            if(!environment.containsProperty("spring.context.exit")){
+                flyway.migrate();
+            }
+        };
+    }
+}
@@ -0,0 +1,68 @@
+package com.api.product_control.configs;
+
+import com.api.product_control.dtos.ExceptionsDto;
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Runs before the readiness probe reports ACCEPTING_TRAFFIC (Boot publishes it after the application runners),
+ * so the first real requests do not pay for compiling the repository queries, opening the pool connections or
+ * building the Jackson serializers of every negotiated format.
+ */
+@Component
+public class StartupWarmup implements ApplicationRunner {
+
+    final ProductRepository productRepository;
+    final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    public StartupWarmup(ProductRepository productRepository, ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter) {
+        this.productRepository = productRepository;
+        this.handlerAdapter = handlerAdapter;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws JsonProcessingException {
+        var sampleId = UUID.randomUUID();
+        productRepository.existsByNameKey(ProductModel.nameKey("warm-up"));
+        productRepository.findViewById(sampleId);
+        productRepository.findCatalogStamp();
+        productRepository.findAllViews(PageRequest.of(0, 1, Sort.by("idProduct")));
+
+        var adapter = handlerAdapter.getIfAvailable();
+        if(adapter == null){
+            return;
+        }
+        var productView = new ProductView(sampleId, "warm-up", BigDecimal.ONE, 0);
+        var entityModel = EntityModel.of(productView, Link.of("/products/" + sampleId));
+        List<Object> samples = List.of(productView, entityModel,
+                new PageImpl<>(List.of(entityModel), PageRequest.of(0, 1), 1),
+                new ExceptionsDto(LocalDateTime.now(), 404, "Not Found", "warm-up"));
+        for(var converter : adapter.getMessageConverters()){
+            if(converter instanceof AbstractJackson2HttpMessageConverter jacksonConverter){
+                for(var sample : samples){
+                    if(jacksonConverter.canWrite(sample.getClass(), null)){
+                        jacksonConverter.getObjectMapper().writeValueAsBytes(sample);
+                    }
+                }
+            }
+        }
+    }
+}
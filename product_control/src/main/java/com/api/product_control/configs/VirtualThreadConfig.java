@@ -0,0 +1,31 @@
+package com.api.product_control.configs;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    @Bean
+    public static BeanPostProcessor connectionWaitLimitingPostProcessor(Environment environment){
+        int maxWaitingThreads = environment.getProperty("product.datasource.max-waiting-threads", Integer.class, 200);
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName){
+                // The routing data source limits each of its pools itself (see ReadReplicaConfig).
+                if(bean instanceof DataSource dataSource && !(bean instanceof ConnectionWaitLimitingDataSource)
+                        && !(bean instanceof ReadWriteRoutingDataSource)){
+                    return new ConnectionWaitLimitingDataSource(dataSource, maxWaitingThreads);
+                }
+                return bean;
+            }
+        };
+    }
+}
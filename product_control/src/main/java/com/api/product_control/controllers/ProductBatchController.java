@@ -0,0 +1,38 @@
+package com.api.product_control.controllers;
+
+import com.api.product_control.dtos.ProductBatchResultDto;
+import com.api.product_control.dtos.ProductBatchUpdateDto;
+import com.api.product_control.dtos.ProductDto;
+import com.api.product_control.services.ProductBatchService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequestMapping("/products/batch")
+public class ProductBatchController {
+
+    final ProductBatchService productBatchService;
+
+    public ProductBatchController(ProductBatchService productBatchService){
+        this.productBatchService = productBatchService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ProductBatchResultDto> saveProducts(@RequestBody List<ProductDto> productDtos){
+        return ResponseEntity.ok(productBatchService.saveAll(productDtos));
+    }
+
+    @PutMapping
+    public ResponseEntity<ProductBatchResultDto> updateProducts(@RequestBody List<ProductBatchUpdateDto> productDtos){
+        return ResponseEntity.ok(productBatchService.updateAll(productDtos));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ProductBatchResultDto> deleteProducts(@RequestBody List<UUID> ids){
+        return ResponseEntity.ok(productBatchService.deleteAll(ids));
+    }
+}
@@ -0,0 +1,40 @@
+package com.api.product_control.controllers;
+
+import com.api.product_control.dtos.ProductChangesDto;
+import com.api.product_control.exceptions.InvalidRequestParameterException;
+import com.api.product_control.services.ProductChangeFeed;
+import com.api.product_control.services.ProductChangeLog;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequestMapping("/products/changes")
+public class ProductChangeController {
+
+    final ProductChangeLog productChangeLog;
+    final ProductChangeFeed productChangeFeed;
+
+    public ProductChangeController(ProductChangeLog productChangeLog, ProductChangeFeed productChangeFeed){
+        this.productChangeLog = productChangeLog;
+        this.productChangeFeed = productChangeFeed;
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<ProductChangesDto> getChanges(@RequestParam(value = "since", defaultValue = "0") long since,
+                                                        @RequestParam(value = "limit", defaultValue = "500") int limit){
+        return ResponseEntity.ok(productChangeLog.changesSince(since, limit));
+    }
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(value = "since", required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId){
+        long start = lastEventId != null ? lastEventId : since != null ? since : 0;
+        if(start < 0){
+            throw new InvalidRequestParameterException("since must not be negative.");
+        }
+        return productChangeFeed.subscribe(start);
+    }
+}
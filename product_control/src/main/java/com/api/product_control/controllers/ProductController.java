@@ -1,9 +1,17 @@
 package com.api.product_control.controllers;
 
 import com.api.product_control.dtos.ProductDto;
-import com.api.product_control.exceptions.ProductAlreadyExistsException;
+import com.api.product_control.dtos.ProductScrollDto;
+import com.api.product_control.dtos.ProductSearchCriteria;
+import com.api.product_control.dtos.ProductValueDto;
+import com.api.product_control.dtos.ProductView;
 import com.api.product_control.exceptions.ProductNotFoundException;
 import com.api.product_control.models.ProductModel;
+import com.api.product_control.services.ProductFileFormat;
+import com.api.product_control.services.ProductImportDuplicatePolicy;
+import com.api.product_control.services.ProductImportService;
+import com.api.product_control.services.ProductExportService;
+import com.api.product_control.services.ProductPriceUpdateQueue;
 import com.api.product_control.services.ProductService;
 import jakarta.validation.Valid;
 import org.springframework.beans.BeanUtils;
@@ -11,70 +19,181 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.UUID;
 
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
-import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
-
 @RestController
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RequestMapping("/products")
 public class ProductController {
 
     final ProductService productService;
+    final ProductExportService productExportService;
+    final ProductImportService productImportService;
+    final ProductPriceUpdateQueue productPriceUpdateQueue;
+    final ProductLinks productLinks;
 
-    public ProductController(ProductService productService){
+    public ProductController(ProductService productService, ProductExportService productExportService,
+                             ProductImportService productImportService, ProductPriceUpdateQueue productPriceUpdateQueue,
+                             ProductLinks productLinks){
         this.productService = productService;
+        this.productExportService = productExportService;
+        this.productImportService = productImportService;
+        this.productPriceUpdateQueue = productPriceUpdateQueue;
+        this.productLinks = productLinks;
     }
 
     @PostMapping
-    public ResponseEntity<ProductModel> saveProduct(@RequestBody @Valid ProductDto productDto){
-        if(productService.existsByName(productDto.name())){
-            throw new ProductAlreadyExistsException("Conflict: the name of this product is already in use!");
-        }
+    public ResponseEntity<ProductView> saveProduct(@RequestBody @Valid ProductDto productDto,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                                       String accept){
         var productModel = new ProductModel();
         BeanUtils.copyProperties(productDto, productModel);
-        return new ResponseEntity<>(productService.save(productModel), HttpStatus.CREATED);
+        ProductView productView = ProductView.of(productService.save(productModel));
+        return ResponseEntity.status(HttpStatus.CREATED).eTag(ProductETags.of(productView, ProductETags.format(accept)))
+                .body(productView);
     }
 
     @GetMapping
-    public ResponseEntity<Page<ProductModel>> getAllProducts(@PageableDefault (sort = "idProduct", direction = Sort.Direction.ASC)
-                                                                 Pageable pageable){
-        Page<ProductModel> productsPage = productService.findAll(pageable);
-        if(!productsPage.isEmpty()){
-            for(ProductModel product : productsPage){
-                UUID id = product.getIdProduct();
-                product.add(linkTo(methodOn(ProductController.class).getOneProduct(id)).withSelfRel());
-            }
+    public ResponseEntity<Page<EntityModel<ProductView>>> getAllProducts(@PageableDefault (sort = "idProduct", direction = Sort.Direction.ASC)
+                                                                 Pageable pageable,
+                                                             @RequestParam(value = "links", defaultValue = "true")
+                                                                 boolean links,
+                                                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                 String ifNoneMatch,
+                                                             @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                                                 String accept){
+        String eTag = ProductETags.of(productService.catalogStamp(), pageable, links, ProductETags.format(accept));
+        if(!ProductETags.noneMatch(ifNoneMatch, eTag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
         }
-        return ResponseEntity.ok(productsPage);
+        Page<ProductView> productsPage = productService.findAll(pageable);
+        return ResponseEntity.ok().eTag(eTag).body(productsPage.map(productLinks.withSelfLinks(links)));
+    }
+
+    @GetMapping("/scroll")
+    public ResponseEntity<ProductScrollDto<EntityModel<ProductView>>> scrollProducts(@RequestParam(value = "cursor", required = false) String cursor,
+                                                           @PageableDefault (sort = "idProduct", direction = Sort.Direction.ASC)
+                                                               Pageable pageable,
+                                                           @RequestParam(value = "links", defaultValue = "true")
+                                                               boolean links){
+        ProductScrollDto<ProductView> productsScroll = productService.scroll(cursor, pageable);
+        return ResponseEntity.ok(productsScroll.map(productLinks.withSelfLinks(links)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<Page<EntityModel<ProductView>>> searchProducts(@RequestParam(value = "name", required = false) String name,
+                                                                @RequestParam(value = "match", defaultValue = "prefix") String match,
+                                                                @RequestParam(value = "minValue", required = false) BigDecimal minValue,
+                                                                @RequestParam(value = "maxValue", required = false) BigDecimal maxValue,
+                                                                @PageableDefault (sort = "idProduct", direction = Sort.Direction.ASC)
+                                                                    Pageable pageable,
+                                                                @RequestParam(value = "links", defaultValue = "true")
+                                                                    boolean links){
+        var criteria = ProductSearchCriteria.of(name, match, minValue, maxValue);
+        Page<ProductView> productsPage = productService.search(criteria, pageable);
+        return ResponseEntity.ok(productsPage.map(productLinks.withSelfLinks(links)));
+    }
+
+    @GetMapping("/search/scroll")
+    public ResponseEntity<ProductScrollDto<EntityModel<ProductView>>> searchScrollProducts(@RequestParam(value = "name", required = false) String name,
+                                                                @RequestParam(value = "match", defaultValue = "prefix") String match,
+                                                                @RequestParam(value = "minValue", required = false) BigDecimal minValue,
+                                                                @RequestParam(value = "maxValue", required = false) BigDecimal maxValue,
+                                                                @RequestParam(value = "cursor", required = false) String cursor,
+                                                                @PageableDefault (sort = "idProduct", direction = Sort.Direction.ASC)
+                                                                    Pageable pageable,
+                                                                @RequestParam(value = "links", defaultValue = "true")
+                                                                    boolean links){
+        var criteria = ProductSearchCriteria.of(name, match, minValue, maxValue);
+        ProductScrollDto<ProductView> productsScroll = productService.searchScroll(criteria, cursor, pageable);
+        return ResponseEntity.ok(productsScroll.map(productLinks.withSelfLinks(links)));
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportProducts(@RequestParam(value = "format", defaultValue = "ndjson")
+                                                                    String format){
+        ProductFileFormat exportFormat = ProductFileFormat.from(format);
+        StreamingResponseBody body = outputStream -> productExportService.export(exportFormat, outputStream);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("products." + exportFormat.getExtension()).build().toString())
+                .body(body);
+    }
+
+    @PostMapping("/import")
+    public ResponseEntity<StreamingResponseBody> importProducts(InputStream inputStream,
+                                                                @RequestHeader(value = HttpHeaders.CONTENT_TYPE,
+                                                                        defaultValue = MediaType.APPLICATION_NDJSON_VALUE)
+                                                                    String contentType,
+                                                                @RequestParam(value = "onDuplicate", defaultValue = "fail")
+                                                                    String onDuplicate){
+        ProductFileFormat importFormat = ProductFileFormat.from(MediaType.parseMediaType(contentType));
+        ProductImportDuplicatePolicy policy = ProductImportDuplicatePolicy.from(onDuplicate);
+        StreamingResponseBody body = outputStream ->
+                productImportService.importProducts(inputStream, importFormat, policy, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProductModel> getOneProduct(@PathVariable(value = "id")UUID id){
-        ProductModel productModel = productService.findById(id)
+    public ResponseEntity<EntityModel<ProductView>> getOneProduct(@PathVariable(value = "id")UUID id,
+                                                                  @RequestParam(value = "links", defaultValue = "true")
+                                                                      boolean links,
+                                                                  @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                                      String ifNoneMatch,
+                                                                  @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                                                      String accept){
+        ProductView productView = productService.findViewById(id)
                         .orElseThrow(() -> new ProductNotFoundException("Product not found."));
-        productModel.add(linkTo(methodOn(ProductController.class).getAllProducts(Pageable.unpaged())).withRel("Products List"));
-        return ResponseEntity.ok(productModel);
+        String eTag = ProductETags.of(productView, ProductETags.format(accept));
+        if(!ProductETags.noneMatch(ifNoneMatch, eTag)){
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(productLinks.withCollectionLink(productView, links));
     }
 
     @PutMapping("/{id}")
-    public ResponseEntity<ProductModel> updateProduct(@PathVariable(value = "id") UUID id,
-                                                @RequestBody @Valid ProductDto productDto){
+    public ResponseEntity<ProductView> updateProduct(@PathVariable(value = "id") UUID id,
+                                                @RequestBody @Valid ProductDto productDto,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch,
+                                                @RequestHeader(value = HttpHeaders.ACCEPT, required = false)
+                                                    String accept){
         ProductModel productModel = productService.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found."));
+        ProductETags.checkMatch(ifMatch, productModel);
         BeanUtils.copyProperties(productDto,productModel);
-        return ResponseEntity.ok(productService.save(productModel));
+        ProductView productView = ProductView.of(productService.save(productModel));
+        return ResponseEntity.ok().eTag(ProductETags.of(productView, ProductETags.format(accept))).body(productView);
+    }
+
+    @PutMapping("/{id}/value")
+    public ResponseEntity<Object> updateProductValue(@PathVariable(value = "id") UUID id,
+                                                     @RequestBody @Valid ProductValueDto productValueDto){
+        productPriceUpdateQueue.enqueue(id, productValueDto.value());
+        return ResponseEntity.accepted().build();
     }
 
     @DeleteMapping("/{id}")
-    public ResponseEntity<Object> deleteProduct(@PathVariable(value = "id") UUID id){
+    public ResponseEntity<Object> deleteProduct(@PathVariable(value = "id") UUID id,
+                                                @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                    String ifMatch){
         ProductModel productModel = productService.findById(id)
                 .orElseThrow(() -> new ProductNotFoundException("Product not found."));
+        ProductETags.checkMatch(ifMatch, productModel);
         productService.delete(productModel);
         return ResponseEntity.ok("Product deleted successfully.");
     }
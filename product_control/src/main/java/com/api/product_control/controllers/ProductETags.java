@@ -0,0 +1,104 @@
+package com.api.product_control.controllers;
+
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.exceptions.PreconditionFailedException;
+import com.api.product_control.models.ProductModel;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.MimeTypeUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Strong entity tags: a product's tag is its id plus its @Version, and a catalog page's tag is a digest
+ * of the catalog stamp and the page request, so neither needs the response body to be rendered. JSON,
+ * CBOR and Smile bodies of the same product differ byte for byte, so each binary format adds its name to
+ * the tag (the JSON tag is left as it was).
+ */
+final class ProductETags {
+
+    private ProductETags() {
+    }
+
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final List<String> FORMATS = List.of("", "cbor", "smile");
+
+    static String of(ProductView productView, String format) {
+        return of(productView.idProduct(), productView.version(), format);
+    }
+
+    static String of(ProductCatalogStamp stamp, Pageable pageable, boolean links, String format) {
+        String descriptor = stamp.sequence() + "|" + pageable + "|" + links + "|" + format;
+        return '"' + DigestUtils.md5DigestAsHex(descriptor.getBytes(StandardCharsets.UTF_8)) + '"';
+    }
+
+    /*
+     * The format content negotiation picks for this Accept header, following its order of quality and
+     * specificity: "cbor", "smile", or "" for JSON, which is also the default.
+     */
+    static String format(String accept) {
+        if (accept == null) {
+            return "";
+        }
+        List<MediaType> acceptable;
+        try {
+            acceptable = MediaType.parseMediaTypes(accept);
+        } catch (InvalidMediaTypeException ex) {
+            return "";
+        }
+        MimeTypeUtils.sortBySpecificity(acceptable);
+        for (MediaType mediaType : acceptable) {
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_JSON) || mediaType.getSubtype().endsWith("+json")) {
+                return "";
+            }
+            if (mediaType.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return "cbor";
+            }
+            if (mediaType.isCompatibleWith(SMILE)) {
+                return "smile";
+            }
+        }
+        return "";
+    }
+
+    // If-None-Match uses the weak comparison function, so W/ prefixes are ignored.
+    static boolean noneMatch(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return true;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || (tag.startsWith("W/") ? tag.substring(2) : tag).equals(eTag)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /*
+     * If-Match uses the strong comparison function; an absent header leaves the request unconditional. The
+     * tag of any format is accepted, since the client may have read the product in another one.
+     */
+    static void checkMatch(String ifMatch, ProductModel productModel) {
+        if (ifMatch == null) {
+            return;
+        }
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.equals("*") || FORMATS.stream().anyMatch(format ->
+                    tag.equals(of(productModel.getIdProduct(), productModel.getVersion(), format)))) {
+                return;
+            }
+        }
+        throw new PreconditionFailedException("The product has changed since it was last retrieved.");
+    }
+
+    private static String of(UUID id, long version, String format) {
+        return "\"" + id + "-" + version + (format.isEmpty() ? "" : "-" + format) + "\"";
+    }
+}
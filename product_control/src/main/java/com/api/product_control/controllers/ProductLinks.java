@@ -0,0 +1,51 @@
+package com.api.product_control.controllers;
+
+import com.api.product_control.dtos.ProductView;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+
+/*
+ * Resolves the /products base URI once per response and appends ids to it, instead of creating
+ * a methodOn(...) invocation proxy and expanding the controller URI template for every item.
+ */
+@Component
+public class ProductLinks {
+
+    public static final String COLLECTION_REL = "Products List";
+
+    final boolean enabled;
+
+    public ProductLinks(@Value("${product.links.enabled:true}") boolean enabled){
+        this.enabled = enabled;
+    }
+
+    public Function<ProductView, EntityModel<ProductView>> withSelfLinks(boolean requested){
+        if(!enabled || !requested){
+            return EntityModel::of;
+        }
+        String collectionHref = collectionHref();
+        return product -> EntityModel.of(product, Link.of(collectionHref + "/" + product.idProduct()));
+    }
+
+    public List<EntityModel<ProductView>> withSelfLinks(List<ProductView> products, boolean requested){
+        return products.stream().map(withSelfLinks(requested)).toList();
+    }
+
+    public EntityModel<ProductView> withCollectionLink(ProductView product, boolean requested){
+        if(!enabled || !requested){
+            return EntityModel.of(product);
+        }
+        return EntityModel.of(product, Link.of(collectionHref(), COLLECTION_REL));
+    }
+
+    String collectionHref(){
+        return linkTo(ProductController.class).toUri().toString();
+    }
+}
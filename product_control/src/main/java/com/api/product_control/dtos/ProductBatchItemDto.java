@@ -0,0 +1,12 @@
+package com.api.product_control.dtos;
+
+import java.util.UUID;
+
+public record ProductBatchItemDto(
+        int index,
+        int chunk,
+        UUID id,
+        ProductBatchStatus status,
+        String message
+) {
+}
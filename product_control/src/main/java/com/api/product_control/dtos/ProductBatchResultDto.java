@@ -0,0 +1,15 @@
+package com.api.product_control.dtos;
+
+import java.util.List;
+
+public record ProductBatchResultDto(
+        int total,
+        int succeeded,
+        int failed,
+        List<ProductBatchItemDto> items
+) {
+    public static ProductBatchResultDto of(List<ProductBatchItemDto> items) {
+        int succeeded = (int) items.stream().filter(item -> item.status().isSuccess()).count();
+        return new ProductBatchResultDto(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
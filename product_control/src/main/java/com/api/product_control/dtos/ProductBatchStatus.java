@@ -0,0 +1,15 @@
+package com.api.product_control.dtos;
+
+public enum ProductBatchStatus {
+    CREATED,
+    UPDATED,
+    DELETED,
+    CONFLICT,
+    NOT_FOUND,
+    INVALID,
+    FAILED;
+
+    public boolean isSuccess() {
+        return this == CREATED || this == UPDATED || this == DELETED;
+    }
+}
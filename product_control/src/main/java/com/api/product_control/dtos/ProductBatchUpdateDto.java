@@ -0,0 +1,10 @@
+package com.api.product_control.dtos;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductBatchUpdateDto(@NotNull UUID id, @NotBlank String name, @NotNull BigDecimal value) {
+}
@@ -0,0 +1,9 @@
+package com.api.product_control.dtos;
+
+/*
+ * The sequence of the latest entry in the product change log. Every write appends to the log in the order
+ * the writes commit (see ProductChangeLog), so the stamp moves forward with each committed change, updates
+ * included, and never lands behind one committed earlier. max() is answered from the primary key.
+ */
+public record ProductCatalogStamp(long sequence) {
+}
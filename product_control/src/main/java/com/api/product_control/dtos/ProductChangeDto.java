@@ -0,0 +1,22 @@
+package com.api.product_control.dtos;
+
+import com.api.product_control.models.ProductChangeModel;
+import com.api.product_control.models.ProductChangeType;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+public record ProductChangeDto(
+        long sequence,
+        ProductChangeType type,
+        UUID idProduct,
+        String name,
+        BigDecimal value,
+        Instant recordedAt
+) {
+    public static ProductChangeDto of(ProductChangeModel change) {
+        return new ProductChangeDto(change.getSequence(), change.getType(), change.getIdProduct(),
+                change.getName(), change.getValue(), change.getRecordedAt());
+    }
+}
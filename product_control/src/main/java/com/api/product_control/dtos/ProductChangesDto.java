@@ -0,0 +1,9 @@
+package com.api.product_control.dtos;
+
+import java.util.List;
+
+public record ProductChangesDto(
+        List<ProductChangeDto> changes,
+        long nextSince
+) {
+}
@@ -0,0 +1,35 @@
+package com.api.product_control.dtos;
+
+import com.fasterxml.jackson.annotation.JsonSubTypes;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.annotation.JsonTypeName;
+
+@JsonTypeInfo(use = JsonTypeInfo.Id.NAME, property = "type")
+@JsonSubTypes({
+        @JsonSubTypes.Type(ProductImportEventDto.Rejected.class),
+        @JsonSubTypes.Type(ProductImportEventDto.Progress.class)
+})
+public sealed interface ProductImportEventDto {
+
+    @JsonTypeName("rejected")
+    record Rejected(long line, String name, String reason) implements ProductImportEventDto {
+    }
+
+    @JsonTypeName("progress")
+    record Progress(
+            Status status,
+            long processed,
+            long created,
+            long updated,
+            long skipped,
+            long rejected,
+            String message
+    ) implements ProductImportEventDto {
+    }
+
+    enum Status {
+        IN_PROGRESS,
+        COMPLETED,
+        ABORTED
+    }
+}
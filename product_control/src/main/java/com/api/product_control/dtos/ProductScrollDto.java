@@ -0,0 +1,16 @@
+package com.api.product_control.dtos;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record ProductScrollDto<T>(
+        List<T> content,
+        int size,
+        String nextCursor,
+        String previousCursor
+) {
+    public <R> ProductScrollDto<R> map(Function<? super T, ? extends R> mapper) {
+        List<R> mapped = content.stream().<R>map(mapper).toList();
+        return new ProductScrollDto<>(mapped, size, nextCursor, previousCursor);
+    }
+}
@@ -0,0 +1,34 @@
+package com.api.product_control.dtos;
+
+import com.api.product_control.exceptions.InvalidRequestParameterException;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+public record ProductSearchCriteria(
+        String name,
+        NameMatch match,
+        BigDecimal minValue,
+        BigDecimal maxValue
+) {
+    public static ProductSearchCriteria of(String name, String match, BigDecimal minValue, BigDecimal maxValue) {
+        if (minValue != null && maxValue != null && minValue.compareTo(maxValue) > 0) {
+            throw new InvalidRequestParameterException("minValue must not be greater than maxValue.");
+        }
+        return new ProductSearchCriteria(name == null || name.isBlank() ? null : name, NameMatch.from(match),
+                minValue, maxValue);
+    }
+
+    public enum NameMatch {
+        PREFIX,
+        CONTAINS;
+
+        public static NameMatch from(String match) {
+            return Arrays.stream(values())
+                    .filter(value -> value.name().equalsIgnoreCase(match))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidRequestParameterException(
+                            "Unsupported name match. Use 'prefix' or 'contains'."));
+        }
+    }
+}
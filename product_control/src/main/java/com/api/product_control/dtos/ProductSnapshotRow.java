@@ -0,0 +1,7 @@
+package com.api.product_control.dtos;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductSnapshotRow(UUID idProduct, String name, BigDecimal value, long version) {
+}
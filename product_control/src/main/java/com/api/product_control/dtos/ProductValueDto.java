@@ -0,0 +1,8 @@
+package com.api.product_control.dtos;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public record ProductValueDto(@NotNull BigDecimal value) {
+}
@@ -0,0 +1,15 @@
+package com.api.product_control.dtos;
+
+import com.api.product_control.models.ProductModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductView(UUID idProduct, String name, BigDecimal value, @JsonIgnore long version) {
+
+    public static ProductView of(ProductModel productModel) {
+        return new ProductView(productModel.getIdProduct(), productModel.getName(), productModel.getValue(),
+                productModel.getVersion());
+    }
+}
@@ -1,7 +1,12 @@
 package com.api.product_control.exceptions;
 
 import com.api.product_control.dtos.ExceptionsDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.validation.constraints.NotNull;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -13,8 +18,17 @@ import java.time.LocalDateTime;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    static final String ERRORS_METRIC = "product.errors";
+
+    final MeterRegistry meterRegistry;
+
+    public GlobalExceptionHandler(ObjectProvider<MeterRegistry> meterRegistry){
+        this.meterRegistry = meterRegistry.getIfUnique(SimpleMeterRegistry::new);
+    }
+
     @ExceptionHandler(ProductAlreadyExistsException.class)
     public ResponseEntity<ExceptionsDto> handleProductAlreadyExists(@NotNull ProductAlreadyExistsException ex){
+        count(ex);
         var exceptionDto = new ExceptionsDto(
                 LocalDateTime.now(),
                 HttpStatus.CONFLICT.value(),
@@ -26,6 +40,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(ProductNotFoundException.class)
     public ResponseEntity<ExceptionsDto> handleProductNotFound(@NotNull ProductNotFoundException ex){
+        count(ex);
         var exceptionDto = new ExceptionsDto(
                 LocalDateTime.now(),
                 HttpStatus.NOT_FOUND.value(),
@@ -35,6 +50,80 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(exceptionDto,HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ExceptionsDto> handleInvalidCursor(@NotNull InvalidCursorException ex){
+        count(ex);
+        var exceptionDto = new ExceptionsDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(exceptionDto,HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(UnsupportedFileFormatException.class)
+    public ResponseEntity<ExceptionsDto> handleUnsupportedFileFormat(@NotNull UnsupportedFileFormatException ex){
+        count(ex);
+        var exceptionDto = new ExceptionsDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(exceptionDto,HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ExceptionsDto> handleInvalidRequestParameter(@NotNull InvalidRequestParameterException ex){
+        count(ex);
+        var exceptionDto = new ExceptionsDto(
+                LocalDateTime.now(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(exceptionDto,HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ExceptionsDto> handlePreconditionFailed(@NotNull PreconditionFailedException ex){
+        count(ex);
+        var exceptionDto = new ExceptionsDto(
+                LocalDateTime.now(),
+                HttpStatus.PRECONDITION_FAILED.value(),
+                "Precondition Failed",
+                ex.getMessage()
+        );
+        return new ResponseEntity<>(exceptionDto,HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ExceptionsDto> handleOptimisticLockingFailure(@NotNull OptimisticLockingFailureException ex){
+        count(ex);
+        var exceptionDto = new ExceptionsDto(
+                LocalDateTime.now(),
+                HttpStatus.CONFLICT.value(),
+                "Conflict",
+                "The product was modified by another request. Reload it and try again."
+        );
+        return new ResponseEntity<>(exceptionDto,HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ExceptionsDto> handleServiceUnavailable(@NotNull ServiceUnavailableException ex){
+        count(ex);
+        var exceptionDto = new ExceptionsDto(
+                LocalDateTime.now(),
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Service Unavailable",
+                ex.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000)))
+                .body(exceptionDto);
+    }
+
     @ExceptionHandler(Exception.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ResponseEntity<ExceptionsDto> handleGenericException(){
@@ -46,4 +135,8 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(exceptionDto,HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    private void count(RuntimeException ex){
+        meterRegistry.counter(ERRORS_METRIC, "exception", ex.getClass().getSimpleName()).increment();
+    }
 }
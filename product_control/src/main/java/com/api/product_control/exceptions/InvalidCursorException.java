@@ -0,0 +1,7 @@
+package com.api.product_control.exceptions;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.api.product_control.exceptions;
+
+public class UnsupportedFileFormatException extends RuntimeException {
+    public UnsupportedFileFormatException(String message) {
+        super(message);
+    }
+}
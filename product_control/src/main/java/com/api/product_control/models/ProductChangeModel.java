@@ -0,0 +1,74 @@
+package com.api.product_control.models;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.UUID;
+
+@Entity
+@Table(name = "TB_PRODUCT_CHANGES")
+public class ProductChangeModel implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long sequence;
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private ProductChangeType type;
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(nullable = false, length = 16)
+    private UUID idProduct;
+    private String name;
+    private BigDecimal value;
+    @Column(nullable = false)
+    private Instant recordedAt;
+
+    public static ProductChangeModel of(ProductChangeType type, ProductModel productModel, Instant recordedAt) {
+        var change = tombstone(productModel.getIdProduct(), recordedAt);
+        change.type = type;
+        change.name = productModel.getName();
+        change.value = productModel.getValue();
+        return change;
+    }
+
+    public static ProductChangeModel tombstone(UUID idProduct, Instant recordedAt) {
+        var change = new ProductChangeModel();
+        change.type = ProductChangeType.DELETED;
+        change.idProduct = idProduct;
+        change.recordedAt = recordedAt;
+        return change;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
+    public ProductChangeType getType() {
+        return type;
+    }
+
+    public UUID getIdProduct() {
+        return idProduct;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public Instant getRecordedAt() {
+        return recordedAt;
+    }
+}
@@ -0,0 +1,7 @@
+package com.api.product_control.models;
+
+public enum ProductChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
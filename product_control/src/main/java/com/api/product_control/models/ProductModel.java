@@ -1,22 +1,58 @@
 package com.api.product_control.models;
 
 import jakarta.persistence.*;
-import org.springframework.hateoas.RepresentationModel;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Locale;
 import java.util.UUID;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "TB_PRODUCTS")
-public class ProductModel extends RepresentationModel<ProductModel> implements Serializable {
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ProductModel.CACHE_REGION)
+@Table(name = "TB_PRODUCTS",
+        uniqueConstraints = @UniqueConstraint(name = ProductModel.NAME_KEY_CONSTRAINT, columnNames = "name_key"),
+        indexes = {
+                @Index(name = "IDX_PRODUCTS_NAME", columnList = "name, id_product"),
+                @Index(name = "IDX_PRODUCTS_VALUE", columnList = "value, id_product")
+        })
+public class ProductModel implements Serializable {
     private static final long serialVersionUID = 1L;
+    public static final String NAME_KEY_CONSTRAINT = "UK_PRODUCTS_NAME_KEY";
+    public static final String CACHE_REGION = "product-entities";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @UuidV7
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(name = "id_product", length = 16)
     private UUID idProduct;
     private String name;
+    @Column(name = "name_key")
+    private String nameKey;
     private BigDecimal value;
+    @Version
+    @Column(nullable = false)
+    private long version;
+    // Set by the database on every insert and update (see V12). Hibernate never writes it and does not read it
+    // back after a write.
+    @Column(name = "modified_at", insertable = false, updatable = false)
+    private Instant modifiedAt;
+
+    // Names are compared case- and whitespace-insensitively through the unique name_key column.
+    public static String nameKey(String name) {
+        return name == null ? null : normalizeWhitespace(name).toLowerCase(Locale.ROOT);
+    }
+
+    private static String normalizeWhitespace(String name) {
+        return WHITESPACE.matcher(name.strip()).replaceAll(" ");
+    }
 
     public UUID getIdProduct() {
         return idProduct;
@@ -31,7 +67,12 @@ public class ProductModel extends RepresentationModel<ProductModel> implements S
     }
 
     public void setName(String name) {
-        this.name = name;
+        this.name = name == null ? null : normalizeWhitespace(name);
+        this.nameKey = nameKey(name);
+    }
+
+    public String getNameKey() {
+        return nameKey;
     }
 
     public BigDecimal getValue() {
@@ -41,4 +82,16 @@ public class ProductModel extends RepresentationModel<ProductModel> implements S
     public void setValue(BigDecimal value) {
         this.value = value;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public Instant getModifiedAt() {
+        return modifiedAt;
+    }
 }
@@ -0,0 +1,56 @@
+package com.api.product_control.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.EventTypeSets;
+
+import java.util.EnumSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * RFC 9562 version 7 UUIDs: a 48-bit Unix millisecond timestamp followed by a 12-bit counter and 62 random
+ * bits. Stored big-endian in BINARY(16), consecutive ids sort after each other, so inserts append to the
+ * right-hand edge of the clustered index instead of splitting random pages.
+ */
+public class UuidV7Generator implements BeforeExecutionGenerator {
+
+    private static final int MAX_COUNTER = 0xFFF;
+
+    private static long lastMillis;
+    private static int counter;
+
+    public static UUID next() {
+        long millis;
+        int sequence;
+        synchronized (UuidV7Generator.class) {
+            long now = System.currentTimeMillis();
+            if (now > lastMillis) {
+                lastMillis = now;
+                // Start low in the counter space so many ids fit in the same millisecond.
+                counter = ThreadLocalRandom.current().nextInt(MAX_COUNTER / 2);
+            } else if (++counter > MAX_COUNTER) {
+                // Counter exhausted or clock moved backwards: borrow the next millisecond to stay monotonic.
+                lastMillis++;
+                counter = 0;
+            }
+            millis = lastMillis;
+            sequence = counter;
+        }
+        long mostSignificant = (millis << 16) | (0x7L << 12) | sequence;
+        long leastSignificant = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant);
+    }
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object owner, Object currentValue,
+                           EventType eventType) {
+        return next();
+    }
+
+    @Override
+    public EnumSet<EventType> getEventTypes() {
+        return EventTypeSets.INSERT_ONLY;
+    }
+}
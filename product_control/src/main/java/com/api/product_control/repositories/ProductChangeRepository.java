@@ -0,0 +1,25 @@
+package com.api.product_control.repositories;
+
+import com.api.product_control.models.ProductChangeModel;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Repository
+public interface ProductChangeRepository extends JpaRepository<ProductChangeModel, Long> {
+
+    List<ProductChangeModel> findBySequenceGreaterThanOrderBySequenceAsc(long sequence, Limit limit);
+
+    @Query("SELECT DISTINCT c.idProduct FROM ProductChangeModel c WHERE c.sequence > :after AND c.sequence <= :upTo")
+    Set<UUID> findChangedIds(@Param("after") long after, @Param("upTo") long upTo);
+
+    // Held until the transaction ends; see ProductChangeLog.
+    @Query(value = "SELECT id FROM tb_product_change_lock WHERE id = 1 FOR UPDATE", nativeQuery = true)
+    Integer lockSequence();
+}
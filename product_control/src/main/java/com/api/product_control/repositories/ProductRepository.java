@@ -1,12 +1,75 @@
 package com.api.product_control.repositories;
 
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductSnapshotRow;
+import com.api.product_control.dtos.ProductView;
 import com.api.product_control.models.ProductModel;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProductRepository extends JpaRepository<ProductModel, UUID> {
-    boolean existsByName(String name);
+public interface ProductRepository extends JpaRepository<ProductModel, UUID>, JpaSpecificationExecutor<ProductModel>,
+        ProductViewSearch, ProductWriteLoad {
+    int STREAM_FETCH_SIZE = 1000;
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByNameKey(String nameKey);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT new com.api.product_control.dtos.ProductView(p.idProduct, p.name, p.value, p.version) FROM ProductModel p",
+            countQuery = "SELECT count(p) FROM ProductModel p")
+    Page<ProductView> findAllViews(Pageable pageable);
+
+    @Query(value = "SELECT new com.api.product_control.dtos.ProductView(p.idProduct, p.name, p.value, p.version) FROM ProductModel p",
+            countQuery = "SELECT count(p) FROM ProductModel p")
+    Page<ProductView> findAllViewsUncached(Pageable pageable);
+
+    @Query("SELECT new com.api.product_control.dtos.ProductView(p.idProduct, p.name, p.value, p.version) FROM ProductModel p "
+            + "WHERE p.idProduct = :id")
+    Optional<ProductView> findViewById(@Param("id") UUID id);
+
+    @Query("SELECT new com.api.product_control.dtos.ProductCatalogStamp(coalesce(max(c.sequence), 0L)) FROM ProductChangeModel c")
+    ProductCatalogStamp findCatalogStamp();
+
+    @Query("SELECT p.nameKey FROM ProductModel p WHERE p.nameKey IN :nameKeys")
+    Set<String> findExistingNameKeys(@Param("nameKeys") Collection<String> nameKeys);
+
+    List<ProductModel> findByNameKeyIn(Collection<String> nameKeys);
+
+    @Query("SELECT p.idProduct FROM ProductModel p WHERE p.idProduct IN :ids")
+    Set<UUID> findExistingIds(@Param("ids") Collection<UUID> ids);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.api.product_control.dtos.ProductView(p.idProduct, p.name, p.value, p.version) FROM ProductModel p")
+    Stream<ProductView> streamAllViews();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.api.product_control.dtos.ProductSnapshotRow(p.idProduct, p.name, p.value, p.version) "
+            + "FROM ProductModel p")
+    Stream<ProductSnapshotRow> streamSnapshotRows();
+
+    @Query("SELECT new com.api.product_control.dtos.ProductSnapshotRow(p.idProduct, p.name, p.value, p.version) "
+            + "FROM ProductModel p WHERE p.idProduct IN :ids")
+    List<ProductSnapshotRow> findSnapshotRows(@Param("ids") Collection<UUID> ids);
 }
@@ -0,0 +1,84 @@
+package com.api.product_control.repositories;
+
+import com.api.product_control.dtos.ProductSearchCriteria;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.services.ProductCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.UUID;
+
+public final class ProductSpecifications {
+
+    // Not a backslash: MySQL would treat it as a string-literal escape in the rendered ESCAPE clause.
+    private static final char LIKE_ESCAPE = '!';
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Search filters: the name is matched against the normalized, uniquely indexed name_key column,
+     * so prefix searches are index range scans; the value range is served by the (value, id_product) index.
+     */
+    public static Specification<ProductModel> matching(ProductSearchCriteria criteria) {
+        return (root, query, cb) -> {
+            var predicates = new ArrayList<Predicate>(3);
+            String nameKey = ProductModel.nameKey(criteria.name());
+            if (nameKey != null) {
+                String pattern = escapeLike(nameKey) + "%";
+                if (criteria.match() == ProductSearchCriteria.NameMatch.CONTAINS) {
+                    pattern = "%" + pattern;
+                }
+                predicates.add(cb.like(root.<String>get("nameKey"), pattern, LIKE_ESCAPE));
+            }
+            if (criteria.minValue() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.<BigDecimal>get("value"), criteria.minValue()));
+            }
+            if (criteria.maxValue() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.<BigDecimal>get("value"), criteria.maxValue()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset predicate: rows strictly beyond the cursor in its navigation direction,
+     * using idProduct as tiebreaker when sorting by name or value.
+     */
+    public static Specification<ProductModel> seek(ProductCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor.id() == null) {
+                return cb.conjunction();
+            }
+            boolean after = cursor.ascending() == cursor.forward();
+            Predicate idBeyond = beyond(cb, root.<UUID>get("idProduct"), cursor.id(), after);
+            return switch (cursor.property()) {
+                case "name" -> {
+                    Expression<String> name = root.get("name");
+                    yield cb.or(beyond(cb, name, cursor.key(), after),
+                            cb.and(cb.equal(name, cursor.key()), idBeyond));
+                }
+                case "value" -> {
+                    Expression<BigDecimal> value = root.get("value");
+                    var key = new BigDecimal(cursor.key());
+                    yield cb.or(beyond(cb, value, key, after),
+                            cb.and(cb.equal(value, key), idBeyond));
+                }
+                default -> idBeyond;
+            };
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("!", "!!").replace("%", "!%").replace("_", "!_");
+    }
+
+    private static <T extends Comparable<? super T>> Predicate beyond(CriteriaBuilder cb, Expression<? extends T> path,
+                                                                      T key, boolean after) {
+        return after ? cb.greaterThan(path, key) : cb.lessThan(path, key);
+    }
+}
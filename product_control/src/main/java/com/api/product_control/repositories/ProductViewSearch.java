@@ -0,0 +1,16 @@
+package com.api.product_control.repositories;
+
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.models.ProductModel;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/*
+ * Specification queries that select only the ProductView columns. The fluent findBy(...).as(...) of this
+ * Spring Data version still loads (and dirty-tracks) whole entities and converts them afterwards.
+ */
+public interface ProductViewSearch {
+
+    Page<ProductView> findViews(Specification<ProductModel> filter, Pageable pageable);
+}
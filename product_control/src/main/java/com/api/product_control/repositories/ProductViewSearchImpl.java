@@ -0,0 +1,57 @@
+package com.api.product_control.repositories;
+
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.models.ProductModel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+class ProductViewSearchImpl implements ProductViewSearch {
+
+    final EntityManager entityManager;
+
+    ProductViewSearchImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Page<ProductView> findViews(Specification<ProductModel> filter, Pageable pageable){
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProductView> query = cb.createQuery(ProductView.class);
+        Root<ProductModel> root = query.from(ProductModel.class);
+        query.select(cb.construct(ProductView.class, root.get("idProduct"), root.get("name"), root.get("value"),
+                root.get("version")));
+        where(query, filter.toPredicate(root, query, cb));
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        TypedQuery<ProductView> typedQuery = entityManager.createQuery(query);
+        if(pageable.isPaged()){
+            typedQuery.setFirstResult((int) pageable.getOffset());
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        // Skips the count when the page shows the total already.
+        return PageableExecutionUtils.getPage(typedQuery.getResultList(), pageable, () -> count(filter));
+    }
+
+    private long count(Specification<ProductModel> filter){
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<ProductModel> root = query.from(ProductModel.class);
+        query.select(cb.count(root));
+        where(query, filter.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+
+    private static void where(CriteriaQuery<?> query, Predicate predicate){
+        if(predicate != null){
+            query.where(predicate);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.api.product_control.repositories;
+
+import com.api.product_control.models.ProductModel;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Loads a product that is about to be changed. The second-level cache of this instance may still hold a
+ * version another instance has since overwritten, which would fail the If-Match check or the version check of
+ * the merge that follows, so the row is read from the database and replaces the cached copy.
+ */
+public interface ProductWriteLoad {
+
+    Optional<ProductModel> findForWrite(UUID id);
+}
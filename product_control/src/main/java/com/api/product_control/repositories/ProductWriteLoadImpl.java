@@ -0,0 +1,29 @@
+package com.api.product_control.repositories;
+
+import com.api.product_control.models.ProductModel;
+import jakarta.persistence.CacheRetrieveMode;
+import jakarta.persistence.CacheStoreMode;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.SpecHints;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+class ProductWriteLoadImpl implements ProductWriteLoad {
+
+    private static final Map<String, Object> FROM_DATABASE = Map.of(
+            SpecHints.HINT_SPEC_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS,
+            SpecHints.HINT_SPEC_CACHE_STORE_MODE, CacheStoreMode.REFRESH);
+
+    final EntityManager entityManager;
+
+    ProductWriteLoadImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public Optional<ProductModel> findForWrite(UUID id){
+        return Optional.ofNullable(entityManager.find(ProductModel.class, id, FROM_DATABASE));
+    }
+}
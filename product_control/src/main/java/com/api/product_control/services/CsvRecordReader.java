@@ -0,0 +1,88 @@
+package com.api.product_control.services;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Minimal RFC 4180 reader: reads one record at a time so large uploads are never buffered,
+ * and supports quoted fields containing separators, escaped quotes and line breaks.
+ */
+class CsvRecordReader {
+
+    private final Reader reader;
+    private long line = 1;
+    private long recordLine;
+    private int pushedBack = -2;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    long recordLine() {
+        return recordLine;
+    }
+
+    List<String> next() throws IOException {
+        long start = line;
+        int current = read();
+        if (current == -1) {
+            return null;
+        }
+        recordLine = start;
+        List<String> fields = new ArrayList<>();
+        var field = new StringBuilder();
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (current == -1) {
+                    throw new IOException("Unterminated quoted field starting on line " + recordLine + ".");
+                }
+                if (current == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        current = following;
+                        continue;
+                    }
+                } else {
+                    field.append((char) current);
+                }
+            } else if (current == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (current == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (current == '\r' || current == '\n' || current == -1) {
+                if (current == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        pushedBack = following;
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) current);
+            }
+            current = read();
+        }
+    }
+
+    private int read() throws IOException {
+        int current;
+        if (pushedBack != -2) {
+            current = pushedBack;
+            pushedBack = -2;
+        } else {
+            current = reader.read();
+        }
+        if (current == '\n') {
+            line++;
+        }
+        return current;
+    }
+}
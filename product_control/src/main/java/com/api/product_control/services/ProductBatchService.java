@@ -0,0 +1,199 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ProductBatchProperties;
+import com.api.product_control.dtos.ProductBatchItemDto;
+import com.api.product_control.dtos.ProductBatchResultDto;
+import com.api.product_control.dtos.ProductBatchStatus;
+import com.api.product_control.dtos.ProductBatchUpdateDto;
+import com.api.product_control.dtos.ProductDto;
+import com.api.product_control.models.ProductChangeType;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import jakarta.validation.Validator;
+import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductBatchService {
+
+    final ProductRepository productRepository;
+    final ProductChangeLog productChangeLog;
+    final TransactionTemplate transactionTemplate;
+    final Validator validator;
+    final int chunkSize;
+
+    public ProductBatchService(ProductRepository productRepository, ProductChangeLog productChangeLog,
+                               PlatformTransactionManager transactionManager, Validator validator,
+                               ProductBatchProperties properties) {
+        this.productRepository = productRepository;
+        this.productChangeLog = productChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.chunkSize = properties.chunkSize();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public ProductBatchResultDto saveAll(List<ProductDto> productDtos){
+        Set<String> committedNameKeys = new HashSet<>();
+        return inChunks(productDtos, committedNameKeys, chunk -> createChunk(chunk, committedNameKeys));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public ProductBatchResultDto updateAll(List<ProductBatchUpdateDto> productDtos){
+        Set<String> committedNameKeys = new HashSet<>();
+        return inChunks(productDtos, committedNameKeys, chunk -> updateChunk(chunk, committedNameKeys));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public ProductBatchResultDto deleteAll(List<UUID> ids){
+        return inChunks(ids, new HashSet<>(), this::deleteChunk);
+    }
+
+    /*
+     * Names written by a chunk only count as taken for the following chunks once that chunk has committed;
+     * a rolled-back chunk leaves them free.
+     */
+    private <T> ProductBatchResultDto inChunks(List<T> items, Set<String> committedNameKeys,
+                                               Function<Chunk<T>, ProductBatchItemDto[]> writer){
+        List<ProductBatchItemDto> results = new ArrayList<>(items.size());
+        for(int offset = 0, number = 0; offset < items.size(); offset += chunkSize, number++){
+            var chunk = new Chunk<>(items.subList(offset, Math.min(offset + chunkSize, items.size())), offset, number,
+                    new HashSet<>());
+            try {
+                results.addAll(Arrays.asList(transactionTemplate.execute(status -> writer.apply(chunk))));
+                committedNameKeys.addAll(chunk.nameKeys());
+            } catch (RuntimeException ex) {
+                for(int i = 0; i < chunk.items().size(); i++){
+                    results.add(chunk.result(i, null, ProductBatchStatus.FAILED,
+                            "The chunk was rolled back: " + ex.getMessage()));
+                }
+            }
+        }
+        return ProductBatchResultDto.of(results);
+    }
+
+    private ProductBatchItemDto[] createChunk(Chunk<ProductDto> chunk, Set<String> committedNameKeys){
+        var results = new ProductBatchItemDto[chunk.items().size()];
+        Set<String> existingNameKeys = existingNameKeys(chunk.items().stream().filter(Objects::nonNull)
+                .map(productDto -> ProductModel.nameKey(productDto.name())).collect(Collectors.toSet()));
+        Map<Integer, ProductModel> pending = new LinkedHashMap<>();
+        for(int i = 0; i < chunk.items().size(); i++){
+            ProductDto productDto = chunk.items().get(i);
+            String violations = violations(productDto);
+            if(violations != null){
+                results[i] = chunk.result(i, null, ProductBatchStatus.INVALID, violations);
+            } else if(existingNameKeys.contains(ProductModel.nameKey(productDto.name()))
+                    || !chunk.claim(ProductModel.nameKey(productDto.name()), committedNameKeys)){
+                results[i] = chunk.result(i, null, ProductBatchStatus.CONFLICT,
+                        "Conflict: the name of this product is already in use!");
+            } else {
+                var productModel = new ProductModel();
+                BeanUtils.copyProperties(productDto, productModel);
+                pending.put(i, productModel);
+            }
+        }
+        productRepository.saveAll(pending.values());
+        productChangeLog.recordSaved(ProductChangeType.CREATED, pending.values());
+        pending.forEach((i, productModel) -> results[i] =
+                chunk.result(i, productModel.getIdProduct(), ProductBatchStatus.CREATED, null));
+        return results;
+    }
+
+    private ProductBatchItemDto[] updateChunk(Chunk<ProductBatchUpdateDto> chunk, Set<String> committedNameKeys){
+        var results = new ProductBatchItemDto[chunk.items().size()];
+        String[] violations = chunk.items().stream().map(this::violations).toArray(String[]::new);
+        List<ProductBatchUpdateDto> valid = new ArrayList<>();
+        for(int i = 0; i < violations.length; i++){
+            if(violations[i] == null){
+                valid.add(chunk.items().get(i));
+            }
+        }
+        Map<UUID, ProductModel> products = valid.isEmpty() ? Map.of() : productRepository
+                .findAllById(valid.stream().map(ProductBatchUpdateDto::id).toList()).stream()
+                .collect(Collectors.toMap(ProductModel::getIdProduct, Function.identity()));
+        Map<String, UUID> nameOwners = valid.isEmpty() ? Map.of() : productRepository
+                .findByNameKeyIn(valid.stream().map(productDto -> ProductModel.nameKey(productDto.name())).toList())
+                .stream()
+                .collect(Collectors.toMap(ProductModel::getNameKey, ProductModel::getIdProduct, (first, second) -> first));
+        List<ProductModel> updated = new ArrayList<>();
+        for(int i = 0; i < chunk.items().size(); i++){
+            ProductBatchUpdateDto productDto = chunk.items().get(i);
+            if(violations[i] != null){
+                results[i] = chunk.result(i, productDto == null ? null : productDto.id(),
+                        ProductBatchStatus.INVALID, violations[i]);
+                continue;
+            }
+            String nameKey = ProductModel.nameKey(productDto.name());
+            UUID owner = nameOwners.get(nameKey);
+            if(!products.containsKey(productDto.id())){
+                results[i] = chunk.result(i, productDto.id(), ProductBatchStatus.NOT_FOUND, "Product not found.");
+            } else if((owner != null && !owner.equals(productDto.id())) || !chunk.claim(nameKey, committedNameKeys)){
+                results[i] = chunk.result(i, productDto.id(), ProductBatchStatus.CONFLICT,
+                        "Conflict: the name of this product is already in use!");
+            } else {
+                BeanUtils.copyProperties(productDto, products.get(productDto.id()));
+                updated.add(products.get(productDto.id()));
+                results[i] = chunk.result(i, productDto.id(), ProductBatchStatus.UPDATED, null);
+            }
+        }
+        productChangeLog.recordSaved(ProductChangeType.UPDATED, updated);
+        return results;
+    }
+
+    private ProductBatchItemDto[] deleteChunk(Chunk<UUID> chunk){
+        var results = new ProductBatchItemDto[chunk.items().size()];
+        List<UUID> ids = chunk.items().stream().filter(Objects::nonNull).toList();
+        Set<UUID> existingIds = ids.isEmpty() ? Set.of() : productRepository.findExistingIds(ids);
+        for(int i = 0; i < chunk.items().size(); i++){
+            UUID id = chunk.items().get(i);
+            if(id == null){
+                results[i] = chunk.result(i, null, ProductBatchStatus.INVALID, "id: must not be null");
+            } else if(!existingIds.contains(id)){
+                results[i] = chunk.result(i, id, ProductBatchStatus.NOT_FOUND, "Product not found.");
+            } else {
+                results[i] = chunk.result(i, id, ProductBatchStatus.DELETED, null);
+            }
+        }
+        if(!existingIds.isEmpty()){
+            productRepository.deleteAllByIdInBatch(existingIds);
+            productChangeLog.recordDeleted(existingIds);
+        }
+        return results;
+    }
+
+    private Set<String> existingNameKeys(Set<String> nameKeys){
+        nameKeys.remove(null);
+        return nameKeys.isEmpty() ? Set.of() : productRepository.findExistingNameKeys(nameKeys);
+    }
+
+    private String violations(Object productDto){
+        return ValidationMessages.of(validator, productDto);
+    }
+
+    // nameKeys holds the names this chunk writes, to be added to the committed ones after its commit.
+    private record Chunk<T>(List<T> items, int offset, int number, Set<String> nameKeys) {
+        boolean claim(String nameKey, Set<String> committedNameKeys){
+            return !committedNameKeys.contains(nameKey) && nameKeys.add(nameKey);
+        }
+
+        ProductBatchItemDto result(int position, UUID id, ProductBatchStatus status, String message){
+            return new ProductBatchItemDto(offset + position, number, id, status, message);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package com.api.product_control.services;
+
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductSnapshotRow;
+import com.api.product_control.dtos.ProductView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+/*
+ * Immutable, column-oriented copy of tb_products. Rows are stored in idProduct order (unsigned byte order, as
+ * MySQL sorts BINARY(16)) as parallel primitive arrays: the two halves of the id, every name back to back in
+ * one UTF-8 buffer, values as unscaled longs plus scale, and versions. The value order is a permutation of the
+ * row positions, tied by id like the (value, id_product) index. There is no name order: the column collation
+ * (utf8mb4_0900_ai_ci) ignores accents as well as case, and findAll moves between the snapshot and the database,
+ * so name-sorted pages are always left to the database lest they repeat or skip rows. The stamp is the
+ * change-log sequence the rows are at least as new as. Changes never touch an instance: they build a new one,
+ * copying the unchanged rows in runs and merging the changed ones into the id order and into the permutation,
+ * without sorting the catalog again.
+ */
+final class ProductCatalogSnapshot {
+
+    private static final byte NULL_VALUE = Byte.MIN_VALUE;
+    private static final byte WIDE_VALUE = Byte.MAX_VALUE;
+
+    private static final Comparator<BigDecimal> VALUE_ORDER = Comparator.nullsFirst(Comparator.naturalOrder());
+
+    private final long[] mostSignificantBits;
+    private final long[] leastSignificantBits;
+    private final byte[] names;
+    private final int[] nameOffsets;
+    private final BitSet nullNames;
+    private final long[] unscaledValues;
+    private final byte[] valueScales;
+    private final Map<Integer, BigDecimal> wideValues;
+    private final long[] versions;
+    private final int[] byValue;
+    private final ProductCatalogStamp stamp;
+
+    private ProductCatalogSnapshot(ProductSnapshotRow[] rows, ProductCatalogStamp stamp) {
+        int size = rows.length;
+        this.mostSignificantBits = new long[size];
+        this.leastSignificantBits = new long[size];
+        this.nameOffsets = new int[size + 1];
+        this.nullNames = new BitSet();
+        this.unscaledValues = new long[size];
+        this.valueScales = new byte[size];
+        this.wideValues = new HashMap<>();
+        this.versions = new long[size];
+        byte[][] encodedNames = new byte[size][];
+        int nameLength = 0;
+        for(int i = 0; i < size; i++){
+            ProductSnapshotRow row = rows[i];
+            mostSignificantBits[i] = row.idProduct().getMostSignificantBits();
+            leastSignificantBits[i] = row.idProduct().getLeastSignificantBits();
+            if(row.name() == null){
+                nullNames.set(i);
+                encodedNames[i] = new byte[0];
+            } else {
+                encodedNames[i] = row.name().getBytes(StandardCharsets.UTF_8);
+            }
+            nameLength += encodedNames[i].length;
+            nameOffsets[i + 1] = nameLength;
+            encodeValue(i, row.value());
+            versions[i] = row.version();
+        }
+        this.names = new byte[nameLength];
+        for(int i = 0; i < size; i++){
+            System.arraycopy(encodedNames[i], 0, names, nameOffsets[i], encodedNames[i].length);
+        }
+        this.byValue = order(size, Comparator.comparing(position -> rows[position].value(), VALUE_ORDER));
+        this.stamp = stamp;
+    }
+
+    /*
+     * A copy of base without the rows at the removed positions (ascending) and with the inserted rows (in id order,
+     * none of them still present in base).
+     */
+    private ProductCatalogSnapshot(ProductCatalogSnapshot base, int[] removed, ProductSnapshotRow[] inserted,
+                                   ProductCatalogStamp stamp) {
+        int size = base.size() - removed.length + inserted.length;
+        this.mostSignificantBits = new long[size];
+        this.leastSignificantBits = new long[size];
+        this.nameOffsets = new int[size + 1];
+        this.nullNames = new BitSet();
+        this.unscaledValues = new long[size];
+        this.valueScales = new byte[size];
+        this.wideValues = new HashMap<>();
+        this.versions = new long[size];
+        byte[][] insertedNames = new byte[inserted.length][];
+        int nameLength = base.names.length;
+        for(int position : removed){
+            nameLength -= base.nameOffsets[position + 1] - base.nameOffsets[position];
+        }
+        for(int i = 0; i < inserted.length; i++){
+            insertedNames[i] = inserted[i].name() == null ? new byte[0] : inserted[i].name().getBytes(StandardCharsets.UTF_8);
+            nameLength += insertedNames[i].length;
+        }
+        this.names = new byte[nameLength];
+
+        int[] moved = new int[base.size()];
+        int[] insertedAt = new int[inserted.length];
+        int source = 0;
+        int target = 0;
+        int nextRemoved = 0;
+        int nextInserted = 0;
+        while (source < base.size() || nextInserted < inserted.length) {
+            if(nextRemoved < removed.length && removed[nextRemoved] == source){
+                moved[source++] = -1;
+                nextRemoved++;
+            } else if(nextInserted < inserted.length && (source == base.size()
+                    || compareIds(inserted[nextInserted].idProduct(), base.id(source)) < 0)){
+                insertedAt[nextInserted] = target;
+                put(target++, inserted[nextInserted], insertedNames[nextInserted]);
+                nextInserted++;
+            } else {
+                int end = nextRemoved < removed.length ? removed[nextRemoved] : base.size();
+                if(nextInserted < inserted.length){
+                    end = Math.min(end, base.insertionPoint(inserted[nextInserted].idProduct()));
+                }
+                copy(base, source, end, target);
+                for(int position = source; position < end; position++){
+                    moved[position] = target++;
+                }
+                source = end;
+            }
+        }
+        for(int position = base.nullNames.nextSetBit(0); position >= 0; position = base.nullNames.nextSetBit(position + 1)){
+            if(moved[position] >= 0){
+                nullNames.set(moved[position]);
+            }
+        }
+        base.wideValues.forEach((position, value) -> {
+            if(moved[position] >= 0){
+                wideValues.put(moved[position], value);
+            }
+        });
+        this.byValue = merge(base.byValue, moved, insertedAt, this::compareValues);
+        this.stamp = stamp;
+    }
+
+    static ProductCatalogSnapshot of(Collection<ProductSnapshotRow> rows, ProductCatalogStamp stamp){
+        ProductSnapshotRow[] sorted = rows.toArray(ProductSnapshotRow[]::new);
+        Arrays.sort(sorted, (first, second) -> compareIds(first.idProduct(), second.idProduct()));
+        return new ProductCatalogSnapshot(sorted, stamp);
+    }
+
+    /*
+     * ids are the products changed up to stamp and rows their current state: ids without a row were deleted.
+     */
+    ProductCatalogSnapshot withChanges(Collection<UUID> ids, Collection<ProductSnapshotRow> rows, ProductCatalogStamp stamp){
+        Set<UUID> changed = new HashSet<>(ids);
+        rows.forEach(row -> changed.add(row.idProduct()));
+        int[] removed = changed.stream().mapToInt(this::position).filter(position -> position >= 0).sorted().toArray();
+        ProductSnapshotRow[] inserted = rows.toArray(ProductSnapshotRow[]::new);
+        Arrays.sort(inserted, (first, second) -> compareIds(first.idProduct(), second.idProduct()));
+        return new ProductCatalogSnapshot(this, removed, inserted, stamp);
+    }
+
+    int size(){
+        return mostSignificantBits.length;
+    }
+
+    ProductCatalogStamp stamp(){
+        return stamp;
+    }
+
+    Optional<ProductView> find(UUID id){
+        int position = position(id);
+        return position < 0 ? Optional.empty() : Optional.of(view(position));
+    }
+
+    /*
+     * Empty when the sort is not by id or value; the caller then asks the database.
+     */
+    Optional<Page<ProductView>> page(Pageable pageable){
+        List<Sort.Order> orders = pageable.getSort().toList();
+        int[] order = null;
+        boolean descending = false;
+        if(!orders.isEmpty()){
+            Sort.Order first = orders.getFirst();
+            boolean tiedById = orders.size() == 1 || (orders.size() == 2
+                    && orders.get(1).getProperty().equals(ProductCursor.DEFAULT_PROPERTY)
+                    && orders.get(1).getDirection() == first.getDirection());
+            if(!tiedById || first.isIgnoreCase()){
+                return Optional.empty();
+            }
+            switch (first.getProperty()) {
+                case ProductCursor.DEFAULT_PROPERTY -> order = null;
+                case "value" -> order = byValue;
+                default -> {
+                    return Optional.empty();
+                }
+            }
+            descending = first.isDescending();
+        }
+        int size = size();
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        long end = pageable.isPaged() ? Math.min(size, offset + pageable.getPageSize()) : size;
+        List<ProductView> content = new ArrayList<>((int) Math.max(0, end - offset));
+        for(long index = offset; index < end; index++){
+            int position = (int) (descending ? size - 1 - index : index);
+            content.add(view(order == null ? position : order[position]));
+        }
+        return Optional.of(new PageImpl<>(content, pageable, size));
+    }
+
+    /*
+     * Approximate heap used by the arrays, without the few object headers.
+     */
+    long memoryBytes(){
+        long bytes = (long) Long.BYTES * (mostSignificantBits.length + leastSignificantBits.length
+                + unscaledValues.length + versions.length)
+                + (long) Integer.BYTES * (nameOffsets.length + byValue.length)
+                + names.length + valueScales.length + nullNames.size() / Byte.SIZE;
+        for(BigDecimal value : wideValues.values()){
+            bytes += 64 + value.unscaledValue().bitLength() / Byte.SIZE;
+        }
+        return bytes;
+    }
+
+    private int position(UUID id){
+        int position = insertionPoint(id);
+        return position < size() && compareIds(id(position), id) == 0 ? position : -1;
+    }
+
+    // First position whose id is not below the given one.
+    private int insertionPoint(UUID id){
+        int low = 0;
+        int high = size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int comparison = Long.compareUnsigned(mostSignificantBits[middle], id.getMostSignificantBits());
+            if(comparison == 0){
+                comparison = Long.compareUnsigned(leastSignificantBits[middle], id.getLeastSignificantBits());
+            }
+            if(comparison < 0){
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void put(int position, ProductSnapshotRow row, byte[] name){
+        mostSignificantBits[position] = row.idProduct().getMostSignificantBits();
+        leastSignificantBits[position] = row.idProduct().getLeastSignificantBits();
+        if(row.name() == null){
+            nullNames.set(position);
+        }
+        System.arraycopy(name, 0, names, nameOffsets[position], name.length);
+        nameOffsets[position + 1] = nameOffsets[position] + name.length;
+        encodeValue(position, row.value());
+        versions[position] = row.version();
+    }
+
+    // Copies the rows [start, end) of base to target onwards; null names and wide values are remapped by the caller.
+    private void copy(ProductCatalogSnapshot base, int start, int end, int target){
+        int length = end - start;
+        System.arraycopy(base.mostSignificantBits, start, mostSignificantBits, target, length);
+        System.arraycopy(base.leastSignificantBits, start, leastSignificantBits, target, length);
+        System.arraycopy(base.unscaledValues, start, unscaledValues, target, length);
+        System.arraycopy(base.valueScales, start, valueScales, target, length);
+        System.arraycopy(base.versions, start, versions, target, length);
+        int from = base.nameOffsets[start];
+        System.arraycopy(base.names, from, names, nameOffsets[target], base.nameOffsets[end] - from);
+        int shift = nameOffsets[target] - from;
+        for(int i = 1; i <= length; i++){
+            nameOffsets[target + i] = base.nameOffsets[start + i] + shift;
+        }
+    }
+
+    /*
+     * The kept rows stay in their old relative order, so the new permutation is the old one with removed positions
+     * dropped and the rest renumbered, merged with the inserted positions at their binary-searched places.
+     */
+    private int[] merge(int[] order, int[] moved, int[] insertedAt, PositionOrder positionOrder){
+        int[] kept = new int[order.length];
+        int keptSize = 0;
+        for(int position : order){
+            if(moved[position] >= 0){
+                kept[keptSize++] = moved[position];
+            }
+        }
+        int[] inserted = Arrays.stream(insertedAt).boxed()
+                .sorted(positionOrder::compare)
+                .mapToInt(Integer::intValue)
+                .toArray();
+        int[] merged = new int[keptSize + inserted.length];
+        int from = 0;
+        int target = 0;
+        for(int position : inserted){
+            int low = from;
+            int high = keptSize;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if(positionOrder.compare(kept[middle], position) < 0){
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            System.arraycopy(kept, from, merged, target, low - from);
+            target += low - from;
+            merged[target++] = position;
+            from = low;
+        }
+        System.arraycopy(kept, from, merged, target, keptSize - from);
+        return merged;
+    }
+
+    // Positions are in id order, so comparing them breaks ties by id like order() does.
+    private int compareValues(int first, int second){
+        int comparison = VALUE_ORDER.compare(value(first), value(second));
+        return comparison != 0 ? comparison : Integer.compare(first, second);
+    }
+
+    private ProductView view(int position){
+        return new ProductView(id(position), name(position), value(position), versions[position]);
+    }
+
+    private UUID id(int position){
+        return new UUID(mostSignificantBits[position], leastSignificantBits[position]);
+    }
+
+    private String name(int position){
+        if(nullNames.get(position)){
+            return null;
+        }
+        int start = nameOffsets[position];
+        return new String(names, start, nameOffsets[position + 1] - start, StandardCharsets.UTF_8);
+    }
+
+    private BigDecimal value(int position){
+        return switch (valueScales[position]) {
+            case NULL_VALUE -> null;
+            case WIDE_VALUE -> wideValues.get(position);
+            default -> BigDecimal.valueOf(unscaledValues[position], valueScales[position]);
+        };
+    }
+
+    private void encodeValue(int position, BigDecimal value){
+        if(value == null){
+            valueScales[position] = NULL_VALUE;
+        } else if(value.unscaledValue().bitLength() < Long.SIZE && value.scale() > NULL_VALUE
+                && value.scale() < WIDE_VALUE){
+            unscaledValues[position] = value.unscaledValue().longValue();
+            valueScales[position] = (byte) value.scale();
+        } else {
+            valueScales[position] = WIDE_VALUE;
+            wideValues.put(position, value);
+        }
+    }
+
+    private static int[] order(int size, Comparator<Integer> comparator){
+        // Positions are already in id order, so comparing them breaks ties by id.
+        return IntStream.range(0, size).boxed()
+                .sorted(comparator.thenComparing(Comparator.naturalOrder()))
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    @FunctionalInterface
+    private interface PositionOrder {
+        int compare(int first, int second);
+    }
+
+    private static int compareIds(UUID first, UUID second){
+        int comparison = Long.compareUnsigned(first.getMostSignificantBits(), second.getMostSignificantBits());
+        return comparison != 0 ? comparison
+                : Long.compareUnsigned(first.getLeastSignificantBits(), second.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,138 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductChangeProperties;
+import com.api.product_control.dtos.ProductChangeDto;
+import com.api.product_control.dtos.ProductChangesDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Live tail of the change log over Server-Sent Events. Each subscriber keeps its own cursor and polls the
+ * change table (a primary-key range scan) at a fixed interval, so every application instance can serve
+ * subscribers for writes made by any other instance. Writing to a client blocks while its socket buffer is
+ * full, so the shared scheduler only runs the queries and each batch is sent on a virtual thread of its own:
+ * a slow client holds back its own stream, which is not polled again until its last batch went out.
+ */
+@Service
+public class ProductChangeFeed implements DisposableBean {
+
+    final ProductChangeLog productChangeLog;
+    final int batchSize;
+    final Duration pollInterval;
+    final Duration keepAliveInterval;
+    final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    final ExecutorService senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual()
+            .name("product-change-feed-", 0).factory());
+
+    public ProductChangeFeed(ProductChangeLog productChangeLog, ProductChangeProperties properties) {
+        this.productChangeLog = productChangeLog;
+        this.batchSize = properties.maxLimit();
+        this.pollInterval = properties.pollInterval();
+        this.keepAliveInterval = properties.keepAliveInterval();
+    }
+
+    public SseEmitter subscribe(long since){
+        var emitter = new SseEmitter();
+        var subscription = new Subscription(emitter, since);
+        subscription.start();
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(ex -> subscription.cancel());
+        return emitter;
+    }
+
+    @Override
+    public void destroy(){
+        scheduler.shutdownNow();
+        senders.shutdownNow();
+    }
+
+    private class Subscription {
+
+        private final SseEmitter emitter;
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private volatile ScheduledFuture<?> task;
+        private volatile boolean cancelled;
+        private volatile long cursor;
+        private volatile long idleSince = System.nanoTime();
+
+        Subscription(SseEmitter emitter, long cursor){
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        void start(){
+            task = scheduler.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+            if(cancelled){
+                task.cancel(false);
+            }
+        }
+
+        void poll(){
+            if(cancelled || !sending.compareAndSet(false, true)){
+                return;
+            }
+            ProductChangesDto batch;
+            try {
+                batch = productChangeLog.changesSince(cursor, batchSize);
+            } catch (RuntimeException ex) {
+                fail(ex);
+                return;
+            }
+            boolean keepAlive = batch.changes().isEmpty()
+                    && System.nanoTime() - idleSince >= keepAliveInterval.toNanos();
+            if(batch.changes().isEmpty() && !keepAlive){
+                sending.set(false);
+                return;
+            }
+            senders.execute(() -> send(batch));
+        }
+
+        void cancel(){
+            cancelled = true;
+            if(task != null){
+                task.cancel(false);
+            }
+        }
+
+        private void send(ProductChangesDto batch){
+            try {
+                if(batch.changes().isEmpty()){
+                    emitter.send(SseEmitter.event().comment("keep-alive"));
+                }
+                for(ProductChangeDto change : batch.changes()){
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(change.sequence()))
+                            .name(change.type().name().toLowerCase(Locale.ROOT))
+                            .data(change));
+                }
+            } catch (IOException | RuntimeException ex) {
+                fail(ex);
+                return;
+            }
+            cursor = batch.nextSince();
+            idleSince = System.nanoTime();
+            sending.set(false);
+            if(batch.changes().size() == batchSize){
+                // More are waiting: catch up without sitting out the poll interval.
+                scheduler.execute(this::poll);
+            }
+        }
+
+        private void fail(Exception ex){
+            cancel();
+            emitter.completeWithError(ex);
+        }
+    }
+}
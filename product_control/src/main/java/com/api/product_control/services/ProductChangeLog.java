@@ -0,0 +1,110 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductChangeProperties;
+import com.api.product_control.dtos.ProductChangeDto;
+import com.api.product_control.dtos.ProductChangesDto;
+import com.api.product_control.exceptions.InvalidRequestParameterException;
+import com.api.product_control.models.ProductChangeModel;
+import com.api.product_control.models.ProductChangeType;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductChangeRepository;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Transactional outbox for the change feed: every product write records its change rows in the caller's
+ * transaction, so the feed never shows a change that was rolled back or misses one that committed. Being on
+ * every write path, it also detaches coalesced reads still in flight, refreshes the in-memory catalog
+ * snapshot once the write commits and schedules the eviction of copies a lagging replica may have refilled.
+ *
+ * Auto-increment values are handed out at insert but become visible at commit, so without coordination a
+ * reader could pass a sequence number whose transaction commits later and never see it. Each writer therefore
+ * locks one row of tb_product_change_lock before inserting its change rows and keeps it until it commits:
+ * sequence numbers are assigned in commit order and any gap a reader finds is a rolled-back insert. The
+ * writer's product rows are flushed first, so the lock is always the last one taken.
+ */
+@Service
+public class ProductChangeLog {
+
+    final ProductChangeRepository productChangeRepository;
+    final ProductReadCoalescer productReadCoalescer;
+    final ProductSnapshotEngine productSnapshotEngine;
+    final ReplicaLagEviction replicaLagEviction;
+    final int maxLimit;
+    final Clock clock;
+
+    public ProductChangeLog(ProductChangeRepository productChangeRepository, ProductReadCoalescer productReadCoalescer,
+                            ProductSnapshotEngine productSnapshotEngine, ReplicaLagEviction replicaLagEviction,
+                            ProductChangeProperties properties) {
+        this(productChangeRepository, productReadCoalescer, productSnapshotEngine, replicaLagEviction, properties,
+                Clock.systemUTC());
+    }
+
+    ProductChangeLog(ProductChangeRepository productChangeRepository, ProductReadCoalescer productReadCoalescer,
+                     ProductSnapshotEngine productSnapshotEngine, ReplicaLagEviction replicaLagEviction,
+                     ProductChangeProperties properties, Clock clock) {
+        this.productChangeRepository = productChangeRepository;
+        this.productReadCoalescer = productReadCoalescer;
+        this.productSnapshotEngine = productSnapshotEngine;
+        this.replicaLagEviction = replicaLagEviction;
+        this.maxLimit = properties.maxLimit();
+        this.clock = clock;
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordSaved(ProductChangeType type, Collection<ProductModel> products){
+        if(products.isEmpty()){
+            return;
+        }
+        productReadCoalescer.forgetAfterCommit();
+        List<UUID> ids = products.stream().map(ProductModel::getIdProduct).toList();
+        productSnapshotEngine.refreshAfterCommit(ids);
+        replicaLagEviction.evictAfterCommit(ids);
+        lockSequence();
+        Instant now = clock.instant();
+        productChangeRepository.saveAll(products.stream()
+                .map(productModel -> ProductChangeModel.of(type, productModel, now))
+                .toList());
+    }
+
+    @Transactional(Transactional.TxType.MANDATORY)
+    public void recordDeleted(Collection<UUID> ids){
+        if(ids.isEmpty()){
+            return;
+        }
+        productReadCoalescer.forgetAfterCommit();
+        productSnapshotEngine.refreshAfterCommit(ids);
+        replicaLagEviction.evictAfterCommit(ids);
+        lockSequence();
+        Instant now = clock.instant();
+        productChangeRepository.saveAll(ids.stream()
+                .map(id -> ProductChangeModel.tombstone(id, now))
+                .toList());
+    }
+
+    // Read from the primary, so the feed is never behind a write this instance has acknowledged.
+    @Transactional
+    public ProductChangesDto changesSince(long since, int limit){
+        if(since < 0 || limit < 1 || limit > maxLimit){
+            throw new InvalidRequestParameterException("since must not be negative and limit must be between 1 and "
+                    + maxLimit + ".");
+        }
+        List<ProductChangeDto> changes = productChangeRepository
+                .findBySequenceGreaterThanOrderBySequenceAsc(since, Limit.of(limit)).stream()
+                .map(ProductChangeDto::of)
+                .toList();
+        return new ProductChangesDto(changes, changes.isEmpty() ? since : changes.getLast().sequence());
+    }
+
+    private void lockSequence(){
+        productChangeRepository.flush();
+        productChangeRepository.lockSequence();
+    }
+}
@@ -0,0 +1,75 @@
+package com.api.product_control.services;
+
+import com.api.product_control.exceptions.InvalidCursorException;
+import com.api.product_control.dtos.ProductView;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Set;
+import java.util.UUID;
+
+public record ProductCursor(String property, boolean ascending, boolean forward, UUID id, String key) {
+
+    static final String DEFAULT_PROPERTY = "idProduct";
+    static final Set<String> SORTABLE_PROPERTIES = Set.of(DEFAULT_PROPERTY, "name", "value");
+
+    private static final String SEPARATOR = ";";
+
+    public static ProductCursor first(Sort sort) {
+        Sort.Order order = sort.stream().findFirst()
+                .orElse(Sort.Order.asc(DEFAULT_PROPERTY));
+        if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+            throw new InvalidCursorException("Cursor pagination only supports sorting by idProduct, name or value.");
+        }
+        return new ProductCursor(order.getProperty(), order.isAscending(), true, null, null);
+    }
+
+    public ProductCursor after(ProductView productView) {
+        return at(productView, true);
+    }
+
+    public ProductCursor before(ProductView productView) {
+        return at(productView, false);
+    }
+
+    public Sort sort() {
+        var direction = ascending == forward ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = Sort.by(direction, property);
+        return DEFAULT_PROPERTY.equals(property) ? sort : sort.and(Sort.by(direction, DEFAULT_PROPERTY));
+    }
+
+    public String encode() {
+        String raw = String.join(SEPARATOR, property, ascending ? "asc" : "desc",
+                forward ? "next" : "prev", id.toString(), key);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static ProductCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = raw.split(SEPARATOR, 5);
+            if (parts.length != 5 || !SORTABLE_PROPERTIES.contains(parts[0])) {
+                throw new InvalidCursorException("Invalid cursor.");
+            }
+            var cursor = new ProductCursor(parts[0], "asc".equals(parts[1]), "next".equals(parts[2]),
+                    UUID.fromString(parts[3]), parts[4]);
+            if ("value".equals(cursor.property())) {
+                new BigDecimal(cursor.key());
+            }
+            return cursor;
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Invalid cursor.");
+        }
+    }
+
+    private ProductCursor at(ProductView productView, boolean forward) {
+        String key = switch (property) {
+            case "name" -> productView.name();
+            case "value" -> productView.value().toPlainString();
+            default -> productView.idProduct().toString();
+        };
+        return new ProductCursor(property, ascending, forward, productView.idProduct(), key);
+    }
+}
@@ -0,0 +1,122 @@
+package com.api.product_control.services;
+
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class ProductExportService {
+
+    final ProductRepository productRepository;
+    final TransactionTemplate transactionTemplate;
+    final JsonFactory jsonFactory;
+
+    public ProductExportService(ProductRepository productRepository, PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    public void export(ProductFileFormat format, OutputStream outputStream){
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<ProductView> products = productRepository.streamAllViews()) {
+                RowWriter writer = format == ProductFileFormat.CSV
+                        ? new CsvRowWriter(outputStream)
+                        : new NdjsonRowWriter(jsonFactory.createGenerator(outputStream));
+                long rows = 0;
+                for(Iterator<ProductView> iterator = products.iterator(); iterator.hasNext(); ){
+                    writer.write(iterator.next());
+                    if(++rows % ProductRepository.STREAM_FETCH_SIZE == 0){
+                        writer.flush();
+                    }
+                }
+                writer.flush();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
+    private interface RowWriter {
+        void write(ProductView productView) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private static class NdjsonRowWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonRowWriter(JsonGenerator generator){
+            this.generator = generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(ProductView productView) throws IOException {
+            generator.writeStartObject();
+            generator.writeStringField("idProduct", productView.idProduct().toString());
+            generator.writeStringField("name", productView.name());
+            generator.writeNumberField("value", productView.value());
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvRowWriter(OutputStream outputStream) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            this.writer.write("idProduct,name,value\r\n");
+        }
+
+        @Override
+        public void write(ProductView productView) throws IOException {
+            writer.write(productView.idProduct().toString());
+            writer.write(',');
+            writer.write(escape(productView.name()));
+            writer.write(',');
+            writer.write(productView.value() == null ? "" : productView.value().toPlainString());
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private static String escape(String field){
+            if(field == null){
+                return "";
+            }
+            if(field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0 && field.indexOf('\r') < 0){
+                return field;
+            }
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+    }
+}
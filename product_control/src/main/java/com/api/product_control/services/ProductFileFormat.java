@@ -0,0 +1,43 @@
+package com.api.product_control.services;
+
+import com.api.product_control.exceptions.UnsupportedFileFormatException;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+
+public enum ProductFileFormat {
+    NDJSON("ndjson", MediaType.APPLICATION_NDJSON),
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    ProductFileFormat(String extension, MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static ProductFileFormat from(String format) {
+        return Arrays.stream(values())
+                .filter(value -> value.extension.equalsIgnoreCase(format))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedFileFormatException(
+                        "Unsupported format. Use 'ndjson' or 'csv'."));
+    }
+
+    public static ProductFileFormat from(MediaType contentType) {
+        return Arrays.stream(values())
+                .filter(value -> value.mediaType.isCompatibleWith(contentType))
+                .findFirst()
+                .orElseThrow(() -> new UnsupportedFileFormatException(
+                        "Unsupported content type. Use 'application/x-ndjson' or 'text/csv'."));
+    }
+}
@@ -0,0 +1,19 @@
+package com.api.product_control.services;
+
+import com.api.product_control.exceptions.InvalidRequestParameterException;
+
+import java.util.Arrays;
+
+public enum ProductImportDuplicatePolicy {
+    SKIP,
+    UPSERT,
+    FAIL;
+
+    public static ProductImportDuplicatePolicy from(String policy) {
+        return Arrays.stream(values())
+                .filter(value -> value.name().equalsIgnoreCase(policy))
+                .findFirst()
+                .orElseThrow(() -> new InvalidRequestParameterException(
+                        "Unsupported duplicate policy. Use 'skip', 'upsert' or 'fail'."));
+    }
+}
@@ -0,0 +1,259 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ProductBatchProperties;
+import com.api.product_control.dtos.ProductDto;
+import com.api.product_control.dtos.ProductImportEventDto;
+import com.api.product_control.exceptions.ProductAlreadyExistsException;
+import com.api.product_control.models.ProductChangeType;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.validation.Validator;
+import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class ProductImportService {
+
+    final ProductRepository productRepository;
+    final ProductChangeLog productChangeLog;
+    final TransactionTemplate transactionTemplate;
+    final Validator validator;
+    final ObjectReader rowReader;
+    final ObjectWriter eventWriter;
+    final int batchSize;
+
+    public ProductImportService(ProductRepository productRepository, ProductChangeLog productChangeLog,
+                                PlatformTransactionManager transactionManager, Validator validator,
+                                ObjectMapper objectMapper, ProductBatchProperties properties) {
+        this.productRepository = productRepository;
+        this.productChangeLog = productChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.rowReader = objectMapper.readerFor(ProductDto.class);
+        this.eventWriter = objectMapper.writerFor(ProductImportEventDto.class);
+        this.batchSize = properties.chunkSize();
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, allEntries = true)
+    public void importProducts(InputStream inputStream, ProductFileFormat format,
+                               ProductImportDuplicatePolicy policy, OutputStream outputStream) throws IOException {
+        var counts = new Counts();
+        try (var reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+            RowSource source = format == ProductFileFormat.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+            List<Row> pending = new ArrayList<>(batchSize);
+            for(Row row = source.next(); row != null; row = source.next()){
+                counts.processed++;
+                String reason = row.error() != null ? row.error() : ValidationMessages.of(validator, row.productDto());
+                if(reason != null){
+                    counts.rejected++;
+                    emit(outputStream, new ProductImportEventDto.Rejected(row.line(),
+                            row.productDto() == null ? null : row.productDto().name(), reason), false);
+                    continue;
+                }
+                pending.add(row);
+                if(pending.size() == batchSize){
+                    counts.add(transactionTemplate.execute(status -> writeBatch(pending, policy)));
+                    pending.clear();
+                    emit(outputStream, counts.progress(ProductImportEventDto.Status.IN_PROGRESS, null), true);
+                }
+            }
+            if(!pending.isEmpty()){
+                counts.add(transactionTemplate.execute(status -> writeBatch(pending, policy)));
+            }
+        } catch (IOException | RuntimeException ex) {
+            emit(outputStream, counts.progress(ProductImportEventDto.Status.ABORTED, ex.getMessage()), true);
+            return;
+        }
+        emit(outputStream, counts.progress(ProductImportEventDto.Status.COMPLETED, null), true);
+    }
+
+    private BatchResult writeBatch(List<Row> rows, ProductImportDuplicatePolicy policy){
+        long updated = 0;
+        long skipped = 0;
+        Map<String, Row> byNameKey = new LinkedHashMap<>();
+        for(Row row : rows){
+            Row previous = byNameKey.putIfAbsent(ProductModel.nameKey(row.productDto().name()), row);
+            if(previous == null){
+                continue;
+            }
+            switch (policy) {
+                case SKIP -> skipped++;
+                case UPSERT -> {
+                    byNameKey.put(ProductModel.nameKey(row.productDto().name()), row);
+                    updated++;
+                }
+                case FAIL -> throw conflict(row);
+            }
+        }
+        Map<String, ProductModel> existing = productRepository.findByNameKeyIn(byNameKey.keySet()).stream()
+                .collect(Collectors.toMap(ProductModel::getNameKey, Function.identity(), (first, second) -> first));
+        List<ProductModel> created = new ArrayList<>();
+        List<ProductModel> upserted = new ArrayList<>();
+        for(var entry : byNameKey.entrySet()){
+            Row row = entry.getValue();
+            ProductModel productModel = existing.get(entry.getKey());
+            if(productModel == null){
+                productModel = new ProductModel();
+                BeanUtils.copyProperties(row.productDto(), productModel);
+                created.add(productModel);
+                continue;
+            }
+            switch (policy) {
+                case SKIP -> skipped++;
+                case UPSERT -> {
+                    productModel.setValue(row.productDto().value());
+                    upserted.add(productModel);
+                    updated++;
+                }
+                case FAIL -> throw conflict(row);
+            }
+        }
+        productRepository.saveAll(created);
+        productChangeLog.recordSaved(ProductChangeType.CREATED, created);
+        productChangeLog.recordSaved(ProductChangeType.UPDATED, upserted);
+        return new BatchResult(created.size(), updated, skipped);
+    }
+
+    private static ProductAlreadyExistsException conflict(Row row){
+        return new ProductAlreadyExistsException("Conflict: the name of this product is already in use! (line "
+                + row.line() + ")");
+    }
+
+    private void emit(OutputStream outputStream, ProductImportEventDto event, boolean flush) throws IOException {
+        outputStream.write(eventWriter.writeValueAsBytes(event));
+        outputStream.write('\n');
+        if(flush){
+            outputStream.flush();
+        }
+    }
+
+    private record Row(long line, ProductDto productDto, String error) {
+    }
+
+    private record BatchResult(long created, long updated, long skipped) {
+    }
+
+    private static class Counts {
+        long processed;
+        long created;
+        long updated;
+        long skipped;
+        long rejected;
+
+        void add(BatchResult result){
+            created += result.created();
+            updated += result.updated();
+            skipped += result.skipped();
+        }
+
+        ProductImportEventDto.Progress progress(ProductImportEventDto.Status status, String message){
+            return new ProductImportEventDto.Progress(status, processed, created, updated, skipped, rejected, message);
+        }
+    }
+
+    private interface RowSource {
+        Row next() throws IOException;
+    }
+
+    private class NdjsonRowSource implements RowSource {
+
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRowSource(BufferedReader reader){
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String json;
+            do {
+                json = reader.readLine();
+                line++;
+            } while (json != null && json.isBlank());
+            if(json == null){
+                return null;
+            }
+            try {
+                return new Row(line, rowReader.readValue(json), null);
+            } catch (JsonProcessingException ex) {
+                return new Row(line, null, "Malformed JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private static class CsvRowSource implements RowSource {
+
+        private final CsvRecordReader reader;
+        private int nameColumn = -1;
+        private int valueColumn = -1;
+
+        CsvRowSource(BufferedReader reader){
+            this.reader = new CsvRecordReader(reader);
+        }
+
+        @Override
+        public Row next() throws IOException {
+            if(nameColumn < 0){
+                readHeader();
+            }
+            List<String> fields;
+            do {
+                fields = reader.next();
+            } while (fields != null && fields.size() == 1 && fields.getFirst().isBlank());
+            if(fields == null){
+                return null;
+            }
+            long line = reader.recordLine();
+            if(fields.size() <= Math.max(nameColumn, valueColumn)){
+                return new Row(line, null, "Expected columns 'name' and 'value'.");
+            }
+            String name = fields.get(nameColumn);
+            String value = fields.get(valueColumn).trim();
+            try {
+                return new Row(line, new ProductDto(name, value.isEmpty() ? null : new BigDecimal(value)), null);
+            } catch (NumberFormatException ex) {
+                return new Row(line, new ProductDto(name, null), "value: must be a number");
+            }
+        }
+
+        private void readHeader() throws IOException {
+            List<String> header = reader.next();
+            if(header != null){
+                for(int i = 0; i < header.size(); i++){
+                    String column = header.get(i).strip();
+                    if("name".equalsIgnoreCase(column)){
+                        nameColumn = i;
+                    } else if("value".equalsIgnoreCase(column)){
+                        valueColumn = i;
+                    }
+                }
+            }
+            if(nameColumn < 0 || valueColumn < 0){
+                throw new IOException("The CSV header must contain 'name' and 'value' columns.");
+            }
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ProductPriceUpdateProperties;
+import com.api.product_control.exceptions.ServiceUnavailableException;
+import com.api.product_control.models.ProductChangeType;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/*
+ * Write-behind for price-only updates. Accepted updates wait in a bounded map keyed by product, so repeated
+ * updates to one product collapse into the latest value, and are flushed at a fixed interval in chunks: one
+ * SELECT ... IN per chunk followed by JDBC-batched UPDATE statements. A chunk that fails for a transient reason
+ * goes back to the queue unless a newer value arrived meanwhile; updates for deleted products are discarded.
+ */
+@Service
+public class ProductPriceUpdateQueue implements DisposableBean {
+
+    static final String METRIC = "product.price-updates";
+
+    final ProductRepository productRepository;
+    final ProductChangeLog productChangeLog;
+    final TransactionTemplate transactionTemplate;
+    final Cache productsCache;
+    final int capacity;
+    final int chunkSize;
+    final Duration flushInterval;
+    final Duration shutdownTimeout;
+    final ScheduledExecutorService scheduler;
+    final Timer flushTimer;
+    final Timer delayTimer;
+    final MeterRegistry meterRegistry;
+
+    private Map<UUID, Pending> pending = new LinkedHashMap<>();
+    private boolean closed;
+
+    public ProductPriceUpdateQueue(ProductRepository productRepository, ProductChangeLog productChangeLog,
+                                   PlatformTransactionManager transactionManager, CacheManager cacheManager,
+                                   ProductPriceUpdateProperties properties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productChangeLog = productChangeLog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.productsCache = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        this.capacity = properties.queueCapacity();
+        this.chunkSize = properties.chunkSize();
+        this.flushInterval = properties.flushInterval();
+        this.shutdownTimeout = properties.shutdownTimeout();
+        this.meterRegistry = meterRegistry;
+        Gauge.builder(METRIC + ".queue", this, ProductPriceUpdateQueue::size)
+                .description("Products with a price update waiting to be flushed")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder(METRIC + ".flush")
+                .description("Time to write one flush of queued price updates")
+                .register(meterRegistry);
+        this.delayTimer = Timer.builder(METRIC + ".delay")
+                .description("Time from accepting a price update to committing it")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("price-update-flush").factory());
+        if(!flushInterval.isZero()){
+            scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public void enqueue(UUID id, BigDecimal value){
+        synchronized (this) {
+            if(closed){
+                count("rejected", 1);
+                throw new ServiceUnavailableException("Price updates are not accepted while shutting down.",
+                        flushInterval);
+            }
+            Pending previous = pending.get(id);
+            if(previous != null){
+                pending.put(id, new Pending(value, previous.acceptedAt()));
+                count("merged", 1);
+                return;
+            }
+            if(pending.size() >= capacity){
+                count("rejected", 1);
+                throw new ServiceUnavailableException("The price update queue is full. Try again later.",
+                        flushInterval);
+            }
+            pending.put(id, new Pending(value, System.nanoTime()));
+        }
+        count("accepted", 1);
+    }
+
+    public synchronized int size(){
+        return pending.size();
+    }
+
+    void flush(){
+        Map<UUID, Pending> batch;
+        synchronized (this) {
+            if(pending.isEmpty()){
+                return;
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        }
+        flushTimer.record(() -> write(new ArrayList<>(batch.entrySet())));
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        synchronized (this) {
+            closed = true;
+        }
+        scheduler.shutdown();
+        scheduler.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        flush();
+    }
+
+    private void write(List<Map.Entry<UUID, Pending>> entries){
+        for(int offset = 0; offset < entries.size(); offset += chunkSize){
+            List<Map.Entry<UUID, Pending>> chunk = entries.subList(offset, Math.min(offset + chunkSize, entries.size()));
+            List<UUID> written;
+            try {
+                written = transactionTemplate.execute(status -> writeChunk(chunk));
+            } catch (DataIntegrityViolationException ex) {
+                count("failed", chunk.size());
+                continue;
+            } catch (RuntimeException ex) {
+                requeue(chunk);
+                continue;
+            }
+            long now = System.nanoTime();
+            for(Map.Entry<UUID, Pending> entry : chunk){
+                productsCache.evict(entry.getKey());
+                delayTimer.record(now - entry.getValue().acceptedAt(), TimeUnit.NANOSECONDS);
+            }
+            count("applied", written.size());
+            count("discarded", chunk.size() - written.size());
+        }
+    }
+
+    private List<UUID> writeChunk(List<Map.Entry<UUID, Pending>> chunk){
+        Map<UUID, ProductModel> products = productRepository
+                .findAllById(chunk.stream().map(Map.Entry::getKey).toList()).stream()
+                .collect(Collectors.toMap(ProductModel::getIdProduct, Function.identity()));
+        List<UUID> written = new ArrayList<>(products.size());
+        List<ProductModel> changed = new ArrayList<>(products.size());
+        for(Map.Entry<UUID, Pending> entry : chunk){
+            ProductModel productModel = products.get(entry.getKey());
+            if(productModel == null){
+                continue;
+            }
+            written.add(entry.getKey());
+            if(productModel.getValue() == null || productModel.getValue().compareTo(entry.getValue().value()) != 0){
+                productModel.setValue(entry.getValue().value());
+                changed.add(productModel);
+            }
+        }
+        productChangeLog.recordSaved(ProductChangeType.UPDATED, changed);
+        return written;
+    }
+
+    private void requeue(List<Map.Entry<UUID, Pending>> chunk){
+        synchronized (this) {
+            if(!closed){
+                // A newer update accepted while the chunk was being written wins over the failed one.
+                chunk.forEach(entry -> pending.putIfAbsent(entry.getKey(), entry.getValue()));
+                return;
+            }
+        }
+        count("failed", chunk.size());
+    }
+
+    private void count(String outcome, int amount){
+        if(amount > 0){
+            meterRegistry.counter(METRIC, "outcome", outcome).increment(amount);
+        }
+    }
+
+    private record Pending(BigDecimal value, long acceptedAt) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.api.product_control.services;
+
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.models.ProductModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * Hibernate only invalidates cached query results and cached products for writes made through this replica.
+ * The catalog stamp is read from the database (or from the catalog snapshot, which catches up with it), so a
+ * stamp that differs from the last one seen here means the catalog changed, possibly through another replica:
+ * the query results and product regions are dropped before the page is queried and tagged with it.
+ */
+@Component
+public class ProductQueryCache {
+
+    final EntityManagerFactory entityManagerFactory;
+    final AtomicReference<ProductCatalogStamp> lastSeen = new AtomicReference<>();
+
+    public ProductQueryCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    public void observe(ProductCatalogStamp stamp){
+        ProductCatalogStamp previous = lastSeen.getAndSet(stamp);
+        if(previous != null && !previous.equals(stamp)){
+            Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+            cache.evictDefaultQueryRegion();
+            cache.evictEntityData(ProductModel.class);
+        }
+    }
+}
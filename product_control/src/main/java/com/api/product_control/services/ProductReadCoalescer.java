@@ -0,0 +1,55 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductCoalescingProperties;
+import com.api.product_control.configs.ReadWriteRoutingDataSource;
+import com.api.product_control.dtos.ProductView;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+@Component
+public class ProductReadCoalescer {
+
+    final RequestCoalescer<UUID, Optional<ProductView>> views;
+    final RequestCoalescer<Pageable, Page<ProductView>> pages;
+
+    public ProductReadCoalescer(ProductCoalescingProperties properties, MeterRegistry meterRegistry) {
+        this.views = new RequestCoalescer<>("findViewById", properties.enabled(), properties.maxWait(), meterRegistry);
+        this.pages = new RequestCoalescer<>("findAll", properties.enabled(), properties.maxWait(), meterRegistry);
+    }
+
+    // A shared query runs on the leader's connection. Reads pinned to the primary (read-your-writes) must not
+    // wait for one that a replica is answering, so they always run their own.
+    public Optional<ProductView> findViewById(UUID id, Supplier<Optional<ProductView>> query){
+        return ReadWriteRoutingDataSource.isPinnedToPrimary() ? query.get() : views.execute(id, query);
+    }
+
+    public Page<ProductView> findAll(Pageable pageable, Supplier<Page<ProductView>> query){
+        return ReadWriteRoutingDataSource.isPinnedToPrimary() ? query.get() : pages.execute(pageable, query);
+    }
+
+    public void forgetAfterCommit(){
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            forgetAll();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                forgetAll();
+            }
+        });
+    }
+
+    private void forgetAll(){
+        views.forgetAll();
+        pages.forgetAll();
+    }
+}
@@ -1,12 +1,31 @@
 package com.api.product_control.services;
 
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ReadWriteRoutingDataSource;
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductScrollDto;
+import com.api.product_control.dtos.ProductSearchCriteria;
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.exceptions.ProductAlreadyExistsException;
+import com.api.product_control.models.ProductChangeType;
 import com.api.product_control.models.ProductModel;
 import com.api.product_control.repositories.ProductRepository;
-import jakarta.transaction.Transactional;
+import com.api.product_control.repositories.ProductSpecifications;
+import io.micrometer.observation.annotation.Observed;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -14,32 +33,140 @@ import java.util.UUID;
 @Service
 public class ProductService {
 
+    static final String OBSERVATION = "product.service";
+
     final ProductRepository productRepository;
+    final ProductChangeLog productChangeLog;
+    final ProductQueryCache productQueryCache;
+    final ProductReadCoalescer productReadCoalescer;
+    final ProductSnapshotEngine productSnapshotEngine;
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductChangeLog productChangeLog,
+                          ProductQueryCache productQueryCache, ProductReadCoalescer productReadCoalescer,
+                          ProductSnapshotEngine productSnapshotEngine) {
         this.productRepository = productRepository;
+        this.productChangeLog = productChangeLog;
+        this.productQueryCache = productQueryCache;
+        this.productReadCoalescer = productReadCoalescer;
+        this.productSnapshotEngine = productSnapshotEngine;
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productModel.idProduct",
+            condition = "#productModel.idProduct != null")
+    @Observed(name = OBSERVATION, contextualName = "product-save", lowCardinalityKeyValues = {"operation", "save"})
     public ProductModel save(ProductModel productModel){
-        return productRepository.save(productModel);
+        ProductChangeType type = productModel.getIdProduct() == null ? ProductChangeType.CREATED : ProductChangeType.UPDATED;
+        ProductModel saved;
+        try {
+            saved = productRepository.saveAndFlush(productModel);
+        } catch (DataIntegrityViolationException ex) {
+            if(isNameConflict(ex)){
+                throw new ProductAlreadyExistsException("Conflict: the name of this product is already in use!");
+            }
+            throw ex;
+        }
+        productChangeLog.recordSaved(type, List.of(saved));
+        return saved;
+    }
+
+    // Not transactional here: callers waiting on a coalesced query must not hold a connection. The repository
+    // call still runs in its own read-only transaction.
+    @Observed(name = OBSERVATION, contextualName = "product-findAll", lowCardinalityKeyValues = {"operation", "findAll"})
+    public Page<ProductView> findAll(Pageable pageable){
+        if(ReadWriteRoutingDataSource.isPinnedToPrimary()){
+            return productRepository.findAllViewsUncached(pageable);
+        }
+        ProductCatalogSnapshot snapshot = productSnapshotEngine.current();
+        if(snapshot != null){
+            Optional<Page<ProductView>> page = snapshot.page(pageable);
+            if(page.isPresent()){
+                return page.get();
+            }
+        }
+        return productReadCoalescer.findAll(pageable, () -> productRepository.findAllViews(pageable));
+    }
+
+    public ProductCatalogStamp catalogStamp(){
+        ProductCatalogSnapshot snapshot = snapshot();
+        ProductCatalogStamp stamp = snapshot != null ? snapshot.stamp() : productRepository.findCatalogStamp();
+        productQueryCache.observe(stamp);
+        return stamp;
+    }
+
+    public ProductScrollDto<ProductView> scroll(String cursor, Pageable pageable){
+        return scroll(Specification.where(null), cursor, pageable);
     }
 
-    public boolean existsByName(String name){
-        return productRepository.existsByName(name);
+    @Observed(name = OBSERVATION, contextualName = "product-search", lowCardinalityKeyValues = {"operation", "search"})
+    public Page<ProductView> search(ProductSearchCriteria criteria, Pageable pageable){
+        return productRepository.findViews(ProductSpecifications.matching(criteria), pageable);
     }
 
-    public Page<ProductModel> findAll(Pageable pageable){
-        return productRepository.findAll(pageable);
+    public ProductScrollDto<ProductView> searchScroll(ProductSearchCriteria criteria, String cursor, Pageable pageable){
+        return scroll(ProductSpecifications.matching(criteria), cursor, pageable);
     }
 
+    private ProductScrollDto<ProductView> scroll(Specification<ProductModel> filter, String cursor, Pageable pageable){
+        ProductCursor position = cursor == null || cursor.isBlank()
+                ? ProductCursor.first(pageable.getSort())
+                : ProductCursor.decode(cursor);
+        int size = pageable.getPageSize();
+        List<ProductModel> products = productRepository.findBy(filter.and(ProductSpecifications.seek(position)),
+                query -> query.sortBy(position.sort()).limit(size + 1).all());
+        List<ProductView> window = new ArrayList<>(products.stream().map(ProductView::of).toList());
+        boolean hasMore = window.size() > size;
+        if(hasMore){
+            window = window.subList(0, size);
+        }
+        if(!position.forward()){
+            Collections.reverse(window);
+        }
+        if(window.isEmpty()){
+            return new ProductScrollDto<>(window, size, null, null);
+        }
+        boolean hasNext = !position.forward() || hasMore;
+        boolean hasPrevious = position.forward() ? position.id() != null : hasMore;
+        String next = hasNext ? position.after(window.getLast()).encode() : null;
+        String previous = hasPrevious ? position.before(window.getFirst()).encode() : null;
+        return new ProductScrollDto<>(window, size, next, previous);
+    }
+
+    @Cacheable(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#id", unless = "#result == null",
+            condition = "!T(com.api.product_control.configs.ReadWriteRoutingDataSource).isPinnedToPrimary()")
+    @Observed(name = OBSERVATION, contextualName = "product-findViewById", lowCardinalityKeyValues = {"operation", "findViewById"})
+    public Optional<ProductView> findViewById(UUID id){
+        ProductCatalogSnapshot snapshot = snapshot();
+        if(snapshot != null){
+            return snapshot.find(id);
+        }
+        return productReadCoalescer.findViewById(id, () -> productRepository.findViewById(id));
+    }
+
+    @Transactional(readOnly = true)
+    @Observed(name = OBSERVATION, contextualName = "product-findById", lowCardinalityKeyValues = {"operation", "findById"})
     public Optional<ProductModel> findById(UUID id){
-        return productRepository.findById(id);
+        return productRepository.findForWrite(id);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.PRODUCTS_CACHE, key = "#productModel.idProduct")
+    @Observed(name = OBSERVATION, contextualName = "product-delete", lowCardinalityKeyValues = {"operation", "delete"})
     public void delete(ProductModel productModel){
         productRepository.delete(productModel);
+        productChangeLog.recordDeleted(List.of(productModel.getIdProduct()));
+    }
+
+    // Reads pinned to the primary (read-your-writes) skip every copy kept on this instance: the snapshot, the
+    // products cache and cached query results may not have seen a write made through another instance yet.
+    private ProductCatalogSnapshot snapshot(){
+        return ReadWriteRoutingDataSource.isPinnedToPrimary() ? null : productSnapshotEngine.current();
+    }
+
+    private static boolean isNameConflict(DataIntegrityViolationException ex){
+        return ex.getCause() instanceof ConstraintViolationException violation
+                && violation.getConstraintName() != null
+                && violation.getConstraintName().toUpperCase(Locale.ROOT).contains(ProductModel.NAME_KEY_CONSTRAINT);
     }
 
 }
@@ -0,0 +1,223 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductSnapshotProperties;
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductSnapshotRow;
+import com.api.product_control.repositories.ProductChangeRepository;
+import com.api.product_control.repositories.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/*
+ * Optional in-memory read mode (product.snapshot.enabled). The catalog is loaded before the application
+ * reports ready, and readers take the current ProductCatalogSnapshot from a volatile field without locking.
+ * The snapshot carries the change-log sequence it was read at. Catching up reads the products logged after
+ * it, by any instance, and patches them into a new snapshot; too many changes reload it instead. A committed
+ * write only marks the ids it touched as pending and schedules a catch-up, so the writer never waits for it
+ * and a burst of writes costs one refresh. Until the marks are cleared reads go to the database, which already
+ * has the writes. A periodic check catches up with writes made by other instances. Whenever the snapshot
+ * cannot be kept exact it is dropped, so reads go back to the database until the next reload.
+ */
+@Component
+public class ProductSnapshotEngine implements ApplicationRunner, DisposableBean {
+
+    static final String METRIC = "product.snapshot";
+
+    final ProductRepository productRepository;
+    final ProductChangeRepository productChangeRepository;
+    final TransactionTemplate transactionTemplate;
+    final boolean enabled;
+    final int maxIncrementalChanges;
+    final MeterRegistry meterRegistry;
+    final ScheduledExecutorService scheduler;
+    // Committed ids not yet patched in, each with the mark of its latest write.
+    final ConcurrentMap<UUID, Long> pending = new ConcurrentHashMap<>();
+    final AtomicLong marks = new AtomicLong();
+
+    private volatile ProductCatalogSnapshot current;
+    private volatile long verifiedAt = System.nanoTime();
+
+    public ProductSnapshotEngine(ProductRepository productRepository, ProductChangeRepository productChangeRepository,
+                                 PlatformTransactionManager transactionManager, ProductSnapshotProperties properties,
+                                 MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.productChangeRepository = productChangeRepository;
+        // Read-write and in a transaction of its own: the snapshot must come from the primary, and refreshes
+        // run after the writer's transaction committed.
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.enabled = properties.enabled();
+        this.maxIncrementalChanges = properties.maxIncrementalChanges();
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("product-snapshot-refresh").factory());
+        if(!enabled){
+            return;
+        }
+        Gauge.builder(METRIC + ".products", this, engine -> engine.current == null ? Double.NaN : engine.current.size())
+                .description("Products held by the in-memory catalog snapshot")
+                .register(meterRegistry);
+        Gauge.builder(METRIC + ".memory", this, engine -> engine.current == null ? Double.NaN : engine.current.memoryBytes())
+                .description("Approximate heap used by the in-memory catalog snapshot")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        TimeGauge.builder(METRIC + ".staleness", this, TimeUnit.NANOSECONDS,
+                        engine -> engine.current == null ? Double.NaN : System.nanoTime() - engine.verifiedAt)
+                .description("Time since the snapshot was last known to match the database")
+                .register(meterRegistry);
+        long interval = properties.refreshInterval().toMillis();
+        if(interval > 0){
+            scheduler.scheduleWithFixedDelay(this::verify, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*
+     * The snapshot to serve reads from, or null when the mode is off, the snapshot is being rebuilt or
+     * writes committed here are still waiting to be patched in.
+     */
+    ProductCatalogSnapshot current(){
+        return pending.isEmpty() ? current : null;
+    }
+
+    @Override
+    public void run(ApplicationArguments args){
+        if(enabled){
+            verify();
+        }
+    }
+
+    public void refreshAfterCommit(Collection<UUID> ids){
+        if(!enabled || ids.isEmpty()){
+            return;
+        }
+        List<UUID> changed = List.copyOf(ids);
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            markPending(changed);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                markPending(changed);
+            }
+        });
+    }
+
+    synchronized void refresh(){
+        if(pending.isEmpty()){
+            // Already taken by the refresh an earlier write scheduled.
+            return;
+        }
+        Map<UUID, Long> batch = Map.copyOf(pending);
+        try {
+            if(current != null){
+                catchUp();
+            }
+        } catch (RuntimeException ex) {
+            // Serving the old snapshot would hide a write this instance just acknowledged.
+            current = null;
+            count("failed");
+        } finally {
+            // A write marked again meanwhile keeps its mark and is patched in by the refresh it scheduled.
+            batch.forEach(pending::remove);
+        }
+    }
+
+    synchronized void verify(){
+        try {
+            if(current != null){
+                catchUp();
+            } else {
+                reload();
+            }
+        } catch (RuntimeException ex) {
+            // Keep serving the last snapshot, if any; the staleness gauge grows until the database answers.
+            count("failed");
+        }
+    }
+
+    /*
+     * The stamp is read before the rows in the same transaction: under REPEATABLE READ both see the same
+     * state, and under a weaker level the rows can only be newer than the stamp, which the next catch-up
+     * re-reads anyway.
+     */
+    synchronized void reload(){
+        long startedAt = System.nanoTime();
+        current = transactionTemplate.execute(status -> {
+            ProductCatalogStamp stamp = productRepository.findCatalogStamp();
+            try (Stream<ProductSnapshotRow> stream = productRepository.streamSnapshotRows()) {
+                return ProductCatalogSnapshot.of(stream.toList(), stamp);
+            }
+        });
+        verifiedAt = startedAt;
+        count("full");
+    }
+
+    private void catchUp(){
+        long startedAt = System.nanoTime();
+        ProductCatalogSnapshot snapshot = current;
+        long after = snapshot.stamp().sequence();
+        ProductCatalogSnapshot next = transactionTemplate.execute(status -> {
+            ProductCatalogStamp stamp = productRepository.findCatalogStamp();
+            if(stamp.sequence() == after){
+                return snapshot;
+            }
+            // Sequences can skip numbers but never repeat, so the distance bounds the number of changes.
+            if(stamp.sequence() < after || stamp.sequence() - after > maxIncrementalChanges){
+                return null;
+            }
+            Set<UUID> ids = productChangeRepository.findChangedIds(after, stamp.sequence());
+            List<ProductSnapshotRow> rows = ids.isEmpty() ? List.of() : productRepository.findSnapshotRows(ids);
+            return snapshot.withChanges(ids, rows, stamp);
+        });
+        if(next == null){
+            reload();
+            return;
+        }
+        if(next != snapshot){
+            current = next;
+            count("incremental");
+        }
+        verifiedAt = startedAt;
+    }
+
+    @Override
+    public void destroy(){
+        scheduler.shutdownNow();
+    }
+
+    private void markPending(List<UUID> ids){
+        long mark = marks.incrementAndGet();
+        for(UUID id : ids){
+            pending.put(id, mark);
+        }
+        scheduler.execute(this::refresh);
+    }
+
+    private void count(String type){
+        meterRegistry.counter(METRIC + ".refreshes", "type", type).increment();
+    }
+}
@@ -0,0 +1,84 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ProductDataSourceProperties;
+import com.api.product_control.models.ProductModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * A write evicts this instance's cached copies, but a read that misses right after it may be served by a
+ * replica that has not applied the write yet and put the old state back for the whole expiry time. With
+ * replicas configured, the written products are evicted once more when the read-your-writes window has
+ * passed, so such a copy outlives the write by at most that window.
+ */
+@Component
+public class ReplicaLagEviction implements DisposableBean {
+
+    final CacheManager cacheManager;
+    final EntityManagerFactory entityManagerFactory;
+    final Duration window;
+    final ScheduledExecutorService scheduler;
+
+    public ReplicaLagEviction(CacheManager cacheManager, EntityManagerFactory entityManagerFactory,
+                              ProductDataSourceProperties properties) {
+        this.cacheManager = cacheManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.window = properties.replicas().isEmpty() ? Duration.ZERO : properties.readYourWritesWindow();
+        this.scheduler = window.isZero() ? null : Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-lag-eviction").daemon().factory());
+    }
+
+    public void evictAfterCommit(Collection<UUID> ids){
+        if(scheduler == null || ids.isEmpty()){
+            return;
+        }
+        List<UUID> written = List.copyOf(ids);
+        if(!TransactionSynchronizationManager.isSynchronizationActive()){
+            schedule(written);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit(){
+                schedule(written);
+            }
+        });
+    }
+
+    @Override
+    public void destroy(){
+        if(scheduler != null){
+            scheduler.shutdownNow();
+        }
+    }
+
+    private void schedule(List<UUID> ids){
+        scheduler.schedule(() -> evict(ids), window.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void evict(List<UUID> ids){
+        var products = cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        Cache cache = entityManagerFactory.getCache().unwrap(Cache.class);
+        for(UUID id : ids){
+            if(products != null){
+                products.evict(id);
+            }
+            cache.evictEntityData(ProductModel.class, id);
+        }
+        cache.evictDefaultQueryRegion();
+    }
+}
@@ -0,0 +1,97 @@
+package com.api.product_control.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/*
+ * Single flight: concurrent calls with equal keys share the call already in flight instead of each running
+ * their own. Nothing is kept once the call returns, so a result is never older than a query that was running
+ * when the caller arrived. Followers wait at most maxWait and then run the call themselves.
+ */
+class RequestCoalescer<K, V> {
+
+    static final String METRIC = "product.coalescing";
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long maxWaitMillis;
+    private final Counter leaders;
+    private final Counter coalesced;
+    private final Counter timeouts;
+
+    RequestCoalescer(String operation, boolean enabled, Duration maxWait, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxWaitMillis = maxWait.toMillis();
+        this.leaders = counter(meterRegistry, operation, "leader");
+        this.coalesced = counter(meterRegistry, operation, "coalesced");
+        this.timeouts = counter(meterRegistry, operation, "timeout");
+    }
+
+    V execute(K key, Supplier<V> call){
+        if(!enabled){
+            return call.get();
+        }
+        var future = new CompletableFuture<V>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if(existing == null){
+            leaders.increment();
+            return lead(key, future, call);
+        }
+        try {
+            V value = existing.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+            coalesced.increment();
+            return value;
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            return call.get();
+        } catch (ExecutionException ex) {
+            coalesced.increment();
+            if(ex.getCause() instanceof RuntimeException runtimeException){
+                throw runtimeException;
+            }
+            throw (Error) ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced call.", ex);
+        }
+    }
+
+    /*
+     * Detaches the calls in flight, so callers arriving from now on start a new one. Used after a write
+     * commits: a query that started before it may still return the old state.
+     */
+    void forgetAll(){
+        inFlight.clear();
+    }
+
+    private V lead(K key, CompletableFuture<V> future, Supplier<V> call){
+        V value;
+        try {
+            value = call.get();
+        } catch (RuntimeException | Error ex) {
+            inFlight.remove(key, future);
+            future.completeExceptionally(ex);
+            throw ex;
+        }
+        inFlight.remove(key, future);
+        future.complete(value);
+        return value;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String operation, String outcome){
+        return Counter.builder(METRIC)
+                .description("Reads by whether they ran the query, shared one in flight or gave up waiting")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,27 @@
+package com.api.product_control.services;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+final class ValidationMessages {
+
+    private ValidationMessages() {
+    }
+
+    static String of(Validator validator, Object target) {
+        if (target == null) {
+            return "item: must not be null";
+        }
+        Set<ConstraintViolation<Object>> violations = validator.validate(target);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
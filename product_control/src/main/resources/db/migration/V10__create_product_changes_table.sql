@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS tb_product_changes (
+    sequence BIGINT NOT NULL AUTO_INCREMENT,
+    type ENUM('CREATED', 'UPDATED', 'DELETED') NOT NULL,
+    id_product BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    value DECIMAL(38,2),
+    recorded_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sequence)
+) ENGINE=InnoDB;
@@ -0,0 +1,7 @@
+-- New product ids are time-ordered UUIDv7 values generated by the application (UuidV7Generator). The column
+-- keeps its BINARY(16) type, which v4 and v7 ids share, so existing rows keep their random v4 ids and the ids
+-- held by clients, ETags and change-feed history stay valid without rewriting any row. New keys are appended
+-- after each other in one region of the index instead of landing on random pages.
+
+-- Rebuild the clustered index once to compact the pages fragmented by the random inserts made so far.
+ALTER TABLE tb_products FORCE;
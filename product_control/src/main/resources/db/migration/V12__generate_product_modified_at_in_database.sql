@@ -0,0 +1,7 @@
+-- modified_at feeds the catalog stamp (count, max(modified_at)) behind list ETags and snapshot checks. Taken from
+-- each application's clock, an instance running behind could write a time older than the current maximum and
+-- leave the stamp unchanged. The database now sets it on every insert and update, from one clock.
+UPDATE tb_products SET modified_at = CURRENT_TIMESTAMP(6) WHERE modified_at IS NULL;
+
+ALTER TABLE tb_products
+    MODIFY modified_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
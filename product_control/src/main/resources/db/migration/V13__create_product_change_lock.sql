@@ -0,0 +1,8 @@
+-- One row that every transaction writing change rows locks first (ProductChangeLog). Sequence numbers are then
+-- assigned in commit order, so a gap below a visible change can only be a rolled-back insert.
+CREATE TABLE tb_product_change_lock (
+    id TINYINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE=InnoDB;
+
+INSERT INTO tb_product_change_lock (id) VALUES (1);
@@ -0,0 +1,10 @@
+-- The catalog stamp is now the latest change-log sequence, which follows commit order; max(modified_at) did
+-- not, since the time is taken when each statement runs. Nothing reads the index any more, and every write
+-- paid for it. The column stays as the time each product was last written.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND index_name = 'IDX_PRODUCTS_MODIFIED_AT') > 0,
+              'DROP INDEX IDX_PRODUCTS_MODIFIED_AT ON tb_products',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,8 @@
+-- The table as the first releases created it through ddl-auto=update. Existing databases are baselined at this
+-- version (spring.flyway.baseline-on-migrate) and run every migration that follows.
+CREATE TABLE tb_products (
+    id_product BINARY(16) NOT NULL,
+    name VARCHAR(255),
+    value DECIMAL(38,2),
+    PRIMARY KEY (id_product)
+) ENGINE=InnoDB;
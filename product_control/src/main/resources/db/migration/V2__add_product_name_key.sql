@@ -0,0 +1,9 @@
+-- Releases that still ran ddl-auto=update may have added this column already, so every change from here on
+-- checks the current schema first.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND column_name = 'name_key') = 0,
+              'ALTER TABLE tb_products ADD COLUMN name_key VARCHAR(255)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
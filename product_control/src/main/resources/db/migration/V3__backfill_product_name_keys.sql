@@ -0,0 +1,27 @@
+-- Rows written before the name_key column existed get their key here, so the unique index covers them. The key
+-- is built like ProductModel.nameKey: whitespace runs collapsed to one space, trimmed and lower-cased. Keys set
+-- by earlier builds only trimmed, so every row is recomputed, with the constraint (if a build already created
+-- it) dropped until V4 adds it back.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND index_name = 'UK_PRODUCTS_NAME_KEY') > 0,
+              'ALTER TABLE tb_products DROP INDEX UK_PRODUCTS_NAME_KEY',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
+
+-- Names that only differ in case, accents or spacing were accepted before and now collide. The product with the
+-- lowest id keeps its name; every other one keeps its id and value and has the id appended to its name, e.g.
+-- "Keyboard (0190f2a4...)", so no row is lost and the renamed ones are easy to find and fix by hand.
+UPDATE tb_products p
+JOIN (
+    SELECT id_product,
+           ROW_NUMBER() OVER (PARTITION BY LOWER(TRIM(REGEXP_REPLACE(name, '[[:space:]]+', ' ')))
+                              ORDER BY id_product) AS position
+    FROM tb_products
+    WHERE name IS NOT NULL
+) ranked ON ranked.id_product = p.id_product
+SET p.name = CONCAT(LEFT(TRIM(REGEXP_REPLACE(p.name, '[[:space:]]+', ' ')), 220), ' (', LOWER(HEX(p.id_product)), ')')
+WHERE ranked.position > 1;
+
+UPDATE tb_products SET name_key = LOWER(TRIM(REGEXP_REPLACE(name, '[[:space:]]+', ' ')));
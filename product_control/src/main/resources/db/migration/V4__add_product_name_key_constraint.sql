@@ -0,0 +1,7 @@
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND index_name = 'UK_PRODUCTS_NAME_KEY') = 0,
+              'ALTER TABLE tb_products ADD CONSTRAINT UK_PRODUCTS_NAME_KEY UNIQUE (name_key)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
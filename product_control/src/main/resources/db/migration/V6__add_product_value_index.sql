@@ -0,0 +1,7 @@
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.statistics
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND index_name = 'IDX_PRODUCTS_VALUE') = 0,
+              'CREATE INDEX IDX_PRODUCTS_VALUE ON tb_products (value, id_product)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
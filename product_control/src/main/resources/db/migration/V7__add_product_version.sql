@@ -0,0 +1,8 @@
+-- Existing rows start at version 0, as ddl-auto=update left them.
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND column_name = 'version') = 0,
+              'ALTER TABLE tb_products ADD COLUMN version BIGINT NOT NULL DEFAULT 0',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,7 @@
+SET @ddl = IF((SELECT COUNT(*) FROM information_schema.columns
+               WHERE table_schema = DATABASE() AND table_name = 'tb_products' AND column_name = 'modified_at') = 0,
+              'ALTER TABLE tb_products ADD COLUMN modified_at DATETIME(6)',
+              'DO 0');
+PREPARE statement FROM @ddl;
+EXECUTE statement;
+DEALLOCATE PREPARE statement;
@@ -0,0 +1,86 @@
+package com.api.product_control.configs;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    public void requestsOverTheLimitAreRejected(){
+        var limit = limit(2);
+
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertFalse(limit.tryAcquire());
+        limit.release(FAST, false);
+        assertTrue(limit.tryAcquire());
+
+        assertEquals(3.0, meterRegistry.get("product.admission").tag("outcome", "accepted").counter().count());
+        assertEquals(1.0, meterRegistry.get("product.admission").tag("outcome", "rejected").counter().count());
+        assertEquals(2.0, meterRegistry.get("product.admission.in-flight").gauge().value());
+    }
+
+    @Test
+    public void limitGrowsOnlyWhileInUse(){
+        var limit = limit(10);
+
+        for(int i = 0; i < 100; i++){
+            assertTrue(limit.tryAcquire());
+            limit.release(FAST, false);
+        }
+        assertEquals(10, limit.limit());
+
+        for(int round = 0; round < 50; round++){
+            int permits = limit.limit();
+            for(int i = 0; i < permits; i++){
+                assertTrue(limit.tryAcquire());
+            }
+            for(int i = 0; i < permits; i++){
+                limit.release(FAST, false);
+            }
+        }
+        assertEquals(20, limit.limit());
+    }
+
+    @Test
+    public void slowOrFailedRequestsBackOffOncePerThreshold(){
+        var limit = limit(16);
+
+        for(int i = 0; i < 3; i++){
+            limit.tryAcquire();
+        }
+        limit.release(SLOW, false);
+        limit.release(SLOW, false);
+        assertEquals(8, limit.limit());
+
+        clock.addAndGet(Duration.ofMillis(100).toNanos());
+        limit.release(FAST, true);
+        assertEquals(4, limit.limit());
+
+        for(int i = 0; i < 5; i++){
+            clock.addAndGet(Duration.ofMillis(100).toNanos());
+            limit.tryAcquire();
+            limit.release(SLOW, false);
+        }
+        assertEquals(2, limit.limit());
+        assertEquals(2.0, meterRegistry.get("product.admission.limit").gauge().value());
+    }
+
+    private AdaptiveConcurrencyLimit limit(int initialLimit){
+        return new AdaptiveConcurrencyLimit("reads",
+                new ProductAdmissionProperties.Limit(initialLimit, 2, 20, Duration.ofMillis(100)), 0.5,
+                meterRegistry, clock::get);
+    }
+}
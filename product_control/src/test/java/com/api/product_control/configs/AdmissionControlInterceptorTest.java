@@ -0,0 +1,68 @@
+package com.api.product_control.configs;
+
+import com.api.product_control.exceptions.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdmissionControlInterceptorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final Map<String, AdaptiveConcurrencyLimit> limits = Map.of(
+            "writes", limit("writes"),
+            "lists", limit("lists"),
+            "reads", limit("reads"));
+
+    private final AdmissionControlInterceptor interceptor = new AdmissionControlInterceptor(limits, Duration.ofSeconds(2));
+
+    @Test
+    public void requestsAreClassifiedByMethodAndMatchedPattern(){
+        assertEquals("writes", AdmissionControlInterceptor.classify(request("POST", "/products")));
+        assertEquals("writes", AdmissionControlInterceptor.classify(request("DELETE", "/products/{id}")));
+        assertEquals("writes", AdmissionControlInterceptor.classify(request("PUT", "/products/{id}")));
+        assertEquals("lists", AdmissionControlInterceptor.classify(request("GET", "/products/search/scroll")));
+        assertEquals("reads", AdmissionControlInterceptor.classify(request("GET", "/products/{id}")));
+        assertNull(AdmissionControlInterceptor.classify(request("GET", "/products/export")));
+        assertNull(AdmissionControlInterceptor.classify(request("POST", "/products/import")));
+        assertNull(AdmissionControlInterceptor.classify(request("POST", "/products/batch")));
+        assertNull(AdmissionControlInterceptor.classify(request("PUT", "/products/{id}/value")));
+        assertNull(AdmissionControlInterceptor.classify(new MockHttpServletRequest("GET", "/products")));
+    }
+
+    @Test
+    public void fullEndpointClassIsShedWithoutAffectingTheOthers(){
+        var first = request("GET", "/products");
+        var second = request("GET", "/products/search");
+        var response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(first, response, null));
+        assertTrue(interceptor.preHandle(second, response, null));
+        var ex = assertThrows(ServiceUnavailableException.class,
+                () -> interceptor.preHandle(request("GET", "/products/scroll"), response, null));
+        assertEquals(Duration.ofSeconds(2), ex.getRetryAfter());
+        assertTrue(interceptor.preHandle(request("GET", "/products/{id}"), response, null));
+
+        interceptor.afterCompletion(first, response, null, null);
+        assertEquals(1, limits.get("lists").inFlight());
+        assertTrue(interceptor.preHandle(request("GET", "/products/scroll"), response, null));
+    }
+
+    private AdaptiveConcurrencyLimit limit(String endpoint){
+        return new AdaptiveConcurrencyLimit(endpoint,
+                new ProductAdmissionProperties.Limit(2, 2, 20, Duration.ofSeconds(1)), 0.9, meterRegistry);
+    }
+
+    private static MockHttpServletRequest request(String method, String pattern){
+        var request = new MockHttpServletRequest(method, pattern);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+        return request;
+    }
+}
@@ -0,0 +1,43 @@
+package com.api.product_control.configs;
+
+import com.api.product_control.dtos.ProductView;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.support.SimpleCacheManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CacheConfigTest {
+
+    private final ProductCacheProperties properties = new ProductCacheProperties(true,
+            new ProductCacheProperties.Region(100, Duration.ofMinutes(1)));
+
+    @Test
+    public void productsCacheRecordsHitsAndMisses(){
+        var cacheManager = (SimpleCacheManager) new CacheConfig().cacheManager(properties);
+        cacheManager.afterPropertiesSet();
+        var cache = (CaffeineCache) cacheManager.getCache(CacheConfig.PRODUCTS_CACHE);
+        var productView = new ProductView(UUID.randomUUID(), "Smartphone Xiaomi Redmi Note 11",
+                new BigDecimal("2000.00"), 0L);
+
+        cache.put(productView.idProduct(), productView);
+        assertSame(productView, cache.get(productView.idProduct(), ProductView.class));
+        assertNull(cache.get(UUID.randomUUID()));
+
+        var stats = cache.getNativeCache().stats();
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    public void cacheManagerIsNoOp_WhenCachingDisabled(){
+        var disabled = new ProductCacheProperties(false, properties.products());
+
+        assertInstanceOf(NoOpCacheManager.class, new CacheConfig().cacheManager(disabled));
+    }
+}
@@ -0,0 +1,43 @@
+package com.api.product_control.configs;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ConnectionWaitLimitingDataSourceTest {
+
+    @Test
+    public void getConnectionFailsFast_WhenTooManyThreadsAreWaiting() throws Exception {
+        var poolExhausted = new CountDownLatch(1);
+        var waiting = new CountDownLatch(1);
+        var connection = mock(Connection.class);
+        var pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> {
+            waiting.countDown();
+            poolExhausted.await();
+            return connection;
+        });
+        var dataSource = new ConnectionWaitLimitingDataSource(pool, 1);
+
+        var waiter = Thread.ofVirtual().start(() -> {
+            try {
+                assertSame(connection, dataSource.getConnection());
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        assertTrue(waiting.await(5, TimeUnit.SECONDS));
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        poolExhausted.countDown();
+        waiter.join();
+        assertEquals(0, dataSource.getWaitingThreads());
+    }
+}
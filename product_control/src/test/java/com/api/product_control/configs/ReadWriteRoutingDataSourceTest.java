@@ -0,0 +1,112 @@
+package com.api.product_control.configs;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource firstReplica = mock(DataSource.class);
+    private final DataSource secondReplica = mock(DataSource.class);
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        dataSource = new ReadWriteRoutingDataSource(primary, List.of(firstReplica, secondReplica), Duration.ZERO);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        ReadWriteRoutingDataSource.unpin();
+    }
+
+    @Test
+    public void readOnlyConnectionsAlternateBetweenReplicas() throws SQLException {
+        assertSame(firstReplicaConnection, target(true));
+        assertSame(secondReplicaConnection, target(true));
+        assertSame(firstReplicaConnection, target(true));
+    }
+
+    @Test
+    public void readWriteConnectionsUsePrimary() throws SQLException {
+        assertSame(primaryConnection, target(false));
+        verify(firstReplica, never()).getConnection();
+        verify(secondReplica, never()).getConnection();
+    }
+
+    @Test
+    public void readOnlyConnectionsUsePrimary_WhenThreadIsPinned() throws SQLException {
+        ReadWriteRoutingDataSource.pinToPrimary();
+
+        assertSame(primaryConnection, target(true));
+        verify(firstReplica, never()).getConnection();
+    }
+
+    @Test
+    public void readFailsOverToNextReplicaAndMarksFailedReplicaDown() throws SQLException {
+        when(firstReplica.getConnection()).thenThrow(new SQLTransientConnectionException("down"));
+
+        assertSame(secondReplicaConnection, target(true));
+        assertEquals(1, dataSource.getHealthyReplicas());
+        assertSame(secondReplicaConnection, target(true));
+    }
+
+    @Test
+    public void readFailsOverToPrimary_WhenNoReplicaIsHealthy() throws SQLException {
+        when(firstReplicaConnection.isValid(anyInt())).thenReturn(false);
+        when(secondReplica.getConnection()).thenThrow(new SQLTransientConnectionException("down"));
+        dataSource.checkReplicas();
+
+        assertEquals(0, dataSource.getHealthyReplicas());
+        assertSame(primaryConnection, target(true));
+    }
+
+    @Test
+    public void healthCheckRestoresRecoveredReplica() throws SQLException {
+        when(firstReplicaConnection.isValid(anyInt())).thenReturn(false);
+        when(secondReplicaConnection.isValid(anyInt())).thenReturn(true);
+        dataSource.checkReplicas();
+        assertEquals(1, dataSource.getHealthyReplicas());
+
+        when(firstReplicaConnection.isValid(anyInt())).thenReturn(true);
+        dataSource.checkReplicas();
+
+        assertEquals(2, dataSource.getHealthyReplicas());
+    }
+
+    @Test
+    public void closeClosesEveryPool() throws Exception {
+        var closeablePrimary = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        var closeableReplica = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+
+        new ReadWriteRoutingDataSource(closeablePrimary, List.of(closeableReplica), Duration.ZERO).close();
+
+        verify((AutoCloseable) closeablePrimary).close();
+        verify((AutoCloseable) closeableReplica).close();
+    }
+
+    private Connection target(boolean readOnly) throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setReadOnly(readOnly);
+        return ((ConnectionProxy) connection).getTargetConnection();
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.product_control.configs;
+
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReadYourWritesFilterTest {
+
+    private static final Instant NOW = Instant.parse("2024-10-01T12:00:00Z");
+
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofSeconds(5),
+            Clock.fixed(NOW, ZoneOffset.UTC));
+
+    @Test
+    public void writesArePinnedAndSetLastWriteCookie() throws Exception {
+        var response = new MockHttpServletResponse();
+
+        assertTrue(pinned(new MockHttpServletRequest("PUT", "/products/1"), response));
+        var cookie = response.getCookie(ReadYourWritesFilter.LAST_WRITE_COOKIE);
+        assertNotNull(cookie);
+        assertEquals(Long.toString(NOW.toEpochMilli()), cookie.getValue());
+        assertFalse(ReadWriteRoutingDataSource.isPinnedToPrimary());
+    }
+
+    @Test
+    public void readsArePinned_OnlyWithinWindowOfClientWrite() throws Exception {
+        var recent = new MockHttpServletRequest("GET", "/products/1");
+        recent.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE,
+                Long.toString(NOW.minusSeconds(2).toEpochMilli())));
+        var expired = new MockHttpServletRequest("GET", "/products/1");
+        expired.setCookies(new Cookie(ReadYourWritesFilter.LAST_WRITE_COOKIE,
+                Long.toString(NOW.minusSeconds(10).toEpochMilli())));
+
+        assertTrue(pinned(recent, new MockHttpServletResponse()));
+        assertFalse(pinned(expired, new MockHttpServletResponse()));
+        assertFalse(pinned(new MockHttpServletRequest("GET", "/products"), new MockHttpServletResponse()));
+    }
+
+    @Test
+    public void readsAreNotPinned_ByAnotherClientsWriteOnSameInstance() throws Exception {
+        pinned(new MockHttpServletRequest("POST", "/products"), new MockHttpServletResponse());
+
+        assertFalse(pinned(new MockHttpServletRequest("GET", "/products"), new MockHttpServletResponse()));
+    }
+
+    private boolean pinned(MockHttpServletRequest request, MockHttpServletResponse response) throws Exception {
+        var pinned = new AtomicBoolean();
+        filter.doFilter(request, response,
+                (servletRequest, servletResponse) -> pinned.set(ReadWriteRoutingDataSource.isPinnedToPrimary()));
+        return pinned.get();
+    }
+}
@@ -0,0 +1,112 @@
+package com.api.product_control.configs;
+
+import org.flywaydb.core.Flyway;
+import org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.orm.jpa.hibernate.SpringImplicitNamingStrategy;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Testcontainers(disabledWithoutDocker = true)
+public class SchemaMigrationTest {
+
+    @Container
+    private static final MySQLContainer<?> MYSQL = new MySQLContainer<>("mysql:8.0");
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp(){
+        String database = "product_control_" + DATABASES.incrementAndGet();
+        var root = new DriverManagerDataSource(MYSQL.getJdbcUrl(), "root", MYSQL.getPassword());
+        new JdbcTemplate(root).execute("CREATE DATABASE " + database);
+        dataSource = new DriverManagerDataSource(MYSQL.getJdbcUrl().replace("/" + MYSQL.getDatabaseName(), "/" + database),
+                "root", MYSQL.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Test
+    public void createsSchemaOnEmptyDatabase(){
+        migrate();
+
+        assertSchemaMatchesEntities();
+        assertEquals(List.of("tb_product_change_lock", "tb_product_changes", "tb_products"), jdbcTemplate.queryForList(
+                "SELECT table_name FROM information_schema.tables WHERE table_schema = DATABASE() "
+                        + "AND table_name LIKE 'tb\\_%' ORDER BY table_name", String.class));
+    }
+
+    @Test
+    public void upgradesSchemaOfFirstRelease_RenamingNamesThatNowCollide(){
+        jdbcTemplate.execute("CREATE TABLE tb_products (id_product BINARY(16) NOT NULL, name VARCHAR(255), "
+                + "value DECIMAL(38,2), PRIMARY KEY (id_product)) ENGINE=InnoDB");
+        jdbcTemplate.update("INSERT INTO tb_products VALUES (UNHEX('01'), 'Keyboard', 150.00), "
+                + "(UNHEX('02'), ' Monitor ', 900.00), (UNHEX('03'), 'keyboard', 120.00), "
+                + "(UNHEX('04'), 'Gaming  Mouse', 80.00), (UNHEX('05'), 'gaming\tmouse ', 75.00)");
+
+        migrate();
+
+        assertSchemaMatchesEntities();
+        String suffix = "0".repeat(30) + ")";
+        assertEquals(List.of(
+                Map.of("name", "Keyboard", "name_key", "keyboard", "version", 0L),
+                Map.of("name", " Monitor ", "name_key", "monitor", "version", 0L),
+                Map.of("name", "keyboard (03" + suffix, "name_key", "keyboard (03" + suffix, "version", 0L),
+                Map.of("name", "Gaming  Mouse", "name_key", "gaming mouse", "version", 0L),
+                Map.of("name", "gaming mouse (05" + suffix, "name_key", "gaming mouse (05" + suffix, "version", 0L)
+        ), jdbcTemplate.queryForList("SELECT name, name_key, version FROM tb_products ORDER BY id_product"));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.statistics "
+                + "WHERE table_schema = DATABASE() AND index_name = 'UK_PRODUCTS_NAME_KEY'", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tb_products WHERE modified_at IS NULL",
+                Integer.class));
+    }
+
+    @Test
+    public void modifiedAtIsSetByDatabaseOnInsertAndUpdate(){
+        migrate();
+        jdbcTemplate.update("INSERT INTO tb_products (id_product, name, name_key, value) "
+                + "VALUES (UNHEX('01'), 'Keyboard', 'keyboard', 150.00)");
+        jdbcTemplate.update("UPDATE tb_products SET modified_at = '2000-01-01' WHERE id_product = UNHEX('01')");
+        jdbcTemplate.update("UPDATE tb_products SET value = 120.00, version = version + 1 WHERE id_product = UNHEX('01')");
+
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject(
+                "SELECT modified_at > '2000-01-01' FROM tb_products WHERE id_product = UNHEX('01')", Boolean.class));
+    }
+
+    private void migrate(){
+        Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+    }
+
+    // Builds the persistence unit the way the application does, so ddl-auto=validate fails on any mismatch.
+    private void assertSchemaMatchesEntities(){
+        var factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.api.product_control.models");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.getJpaPropertyMap().put("hibernate.hbm2ddl.auto", "validate");
+        factory.getJpaPropertyMap().put("hibernate.physical_naming_strategy", CamelCaseToUnderscoresNamingStrategy.class.getName());
+        factory.getJpaPropertyMap().put("hibernate.implicit_naming_strategy", SpringImplicitNamingStrategy.class.getName());
+        assertDoesNotThrow(factory::afterPropertiesSet);
+        factory.destroy();
+    }
+}
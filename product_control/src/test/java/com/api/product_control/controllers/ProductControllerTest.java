@@ -1,10 +1,20 @@
 package com.api.product_control.controllers;
 
 import com.api.product_control.dtos.ProductDto;
+import com.api.product_control.dtos.ProductValueDto;
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.exceptions.PreconditionFailedException;
 import com.api.product_control.exceptions.ProductAlreadyExistsException;
 import com.api.product_control.exceptions.ProductNotFoundException;
 import com.api.product_control.models.ProductModel;
+import com.api.product_control.services.ProductBatchService;
+import com.api.product_control.services.ProductChangeFeed;
+import com.api.product_control.services.ProductChangeLog;
+import com.api.product_control.services.ProductExportService;
+import com.api.product_control.services.ProductImportService;
+import com.api.product_control.services.ProductPriceUpdateQueue;
 import com.api.product_control.services.ProductService;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
 import io.restassured.http.ContentType;
 import jakarta.servlet.ServletException;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,19 +22,26 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 
+import java.io.IOException;
 import java.math.BigDecimal;
 import java.util.Optional;
 import java.util.UUID;
 
 import static io.restassured.module.mockmvc.RestAssuredMockMvc.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebMvcTest
+@Import(ProductLinks.class)
 public class ProductControllerTest {
 
     @Autowired
@@ -33,6 +50,24 @@ public class ProductControllerTest {
     @MockBean
     private ProductService productService;
 
+    @MockBean
+    private ProductBatchService productBatchService;
+
+    @MockBean
+    private ProductExportService productExportService;
+
+    @MockBean
+    private ProductImportService productImportService;
+
+    @MockBean
+    private ProductChangeLog productChangeLog;
+
+    @MockBean
+    private ProductChangeFeed productChangeFeed;
+
+    @MockBean
+    private ProductPriceUpdateQueue productPriceUpdateQueue;
+
     @BeforeEach
     public void setUp(){
         standaloneSetup(this.productController);
@@ -45,7 +80,6 @@ public class ProductControllerTest {
         var productModel = new ProductModel();
         productModel.setIdProduct(UUID.randomUUID());
 
-        when(productService.existsByName(productDto.name())).thenReturn(false);
         when(productService.save(any(ProductModel.class))).thenReturn(productModel);
 
         given()
@@ -61,7 +95,8 @@ public class ProductControllerTest {
     public void shouldThrowProductAlreadyExistsException_WhenProductAlreadyExists(){
         var productDto = new ProductDto("Smartphone Xiaomi Redmi Note 11",
                 new BigDecimal("2000.00"));
-        when(productService.existsByName(productDto.name())).thenReturn(true);
+        when(productService.save(any(ProductModel.class)))
+                .thenThrow(new ProductAlreadyExistsException("Conflict: the name of this product is already in use!"));
 
         var exception = assertThrows(ServletException.class, () ->
                 given()
@@ -78,7 +113,8 @@ public class ProductControllerTest {
     @Test
     public void shouldReturnSuccess_WhenGettingProduct(){
         var id = UUID.randomUUID();
-        when(productService.findById(id)).thenReturn(Optional.of(new ProductModel()));
+        when(productService.findViewById(id)).thenReturn(Optional.of(new ProductView(id, "Smartphone Xiaomi Redmi Note 11",
+                new BigDecimal("2000.00"), 0L)));
 
         given()
                 .accept(ContentType.JSON)
@@ -88,10 +124,61 @@ public class ProductControllerTest {
                 .statusCode(HttpStatus.OK.value());
     }
 
+    @Test
+    public void shouldReturnCbor_WhenAcceptAsksForIt() throws IOException {
+        var id = UUID.randomUUID();
+        when(productService.findViewById(id)).thenReturn(Optional.of(new ProductView(id, "Smartphone Xiaomi Redmi Note 11",
+                new BigDecimal("2000.00"), 0L)));
+
+        byte[] body = given()
+                .accept("application/cbor")
+        .when()
+                .get("/products/{id}", id)
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/cbor")
+                .extract().asByteArray();
+
+        assertEquals("Smartphone Xiaomi Redmi Note 11", new CBORMapper().readTree(body).get("name").asText());
+    }
+
+    @Test
+    public void shouldReturnNotModified_WhenETagMatches(){
+        var id = UUID.randomUUID();
+        when(productService.findViewById(id)).thenReturn(Optional.of(new ProductView(id, "Smartphone Xiaomi Redmi Note 11",
+                new BigDecimal("2000.00"), 3L)));
+
+        given()
+                .accept(ContentType.JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + id + "-3\"")
+        .when()
+                .get("/products/{id}", id)
+        .then()
+                .statusCode(HttpStatus.NOT_MODIFIED.value())
+                .header(HttpHeaders.ETAG, "\"" + id + "-3\"");
+    }
+
+    @Test
+    public void shouldTagEachFormatSeparately(){
+        var id = UUID.randomUUID();
+        when(productService.findViewById(id)).thenReturn(Optional.of(new ProductView(id, "Smartphone Xiaomi Redmi Note 11",
+                new BigDecimal("2000.00"), 3L)));
+
+        given()
+                .accept("application/cbor")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"" + id + "-3\"")
+        .when()
+                .get("/products/{id}", id)
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .contentType("application/cbor")
+                .header(HttpHeaders.ETAG, "\"" + id + "-3-cbor\"");
+    }
+
     @Test
     public void shouldThrowProductNotFoundException_WhenGettingNonExistingProduct(){
         UUID id = UUID.randomUUID();
-        when(productService.findById(id)).thenReturn(Optional.empty());
+        when(productService.findViewById(id)).thenReturn(Optional.empty());
 
         var exception = assertThrows(ServletException.class, () ->
                 given()
@@ -123,6 +210,69 @@ public class ProductControllerTest {
                 .statusCode(HttpStatus.OK.value());
     }
 
+    @Test
+    public void shouldReturnAccepted_WhenUpdatingProductValue() {
+        var id = UUID.randomUUID();
+
+        given()
+                .contentType(ContentType.JSON)
+                .body(new ProductValueDto(new BigDecimal("1999.90")))
+        .when()
+                .put("/products/{id}/value", id)
+        .then()
+                .statusCode(HttpStatus.ACCEPTED.value());
+
+        verify(productPriceUpdateQueue).enqueue(id, new BigDecimal("1999.90"));
+        verify(productService, never()).findById(any());
+    }
+
+    @Test
+    public void shouldThrowPreconditionFailedException_WhenIfMatchIsStale() {
+        var productDto = new ProductDto("Smartphone Xiaomi Redmi Note 11", new BigDecimal("2000.00"));
+        var productModel = new ProductModel();
+        var id = UUID.randomUUID();
+        productModel.setIdProduct(id);
+        productModel.setVersion(2L);
+
+        when(productService.findById(id)).thenReturn(Optional.of(productModel));
+
+        var exception = assertThrows(ServletException.class, () ->
+                given()
+                        .contentType(ContentType.JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"" + id + "-1\"")
+                        .body(productDto)
+                .when()
+                        .put("/products/{id}", id)
+                .then()
+                        .statusCode(HttpStatus.PRECONDITION_FAILED.value())
+        );
+        assertInstanceOf(PreconditionFailedException.class, exception.getCause());
+        verify(productService, never()).save(any(ProductModel.class));
+    }
+
+    @Test
+    public void shouldAcceptIfMatch_WhenTagCameFromAnotherFormat() {
+        var productDto = new ProductDto("Smartphone Xiaomi Redmi Note 11", new BigDecimal("2000.00"));
+        var productModel = new ProductModel();
+        var id = UUID.randomUUID();
+        productModel.setIdProduct(id);
+        productModel.setVersion(2L);
+
+        when(productService.findById(id)).thenReturn(Optional.of(productModel));
+        when(productService.save(any(ProductModel.class))).thenReturn(productModel);
+
+        given()
+                .contentType(ContentType.JSON)
+                .accept(ContentType.JSON)
+                .header(HttpHeaders.IF_MATCH, "\"" + id + "-2-smile\"")
+                .body(productDto)
+        .when()
+                .put("/products/{id}", id)
+        .then()
+                .statusCode(HttpStatus.OK.value())
+                .header(HttpHeaders.ETAG, "\"" + id + "-2\"");
+    }
+
     @Test
     public void shouldThrowProductNotFoundException_WhenUpdatingNonExistingProduct() {
         var productDto = new ProductDto("Smartphone Xiaomi Redmi Note 11", new BigDecimal("2000.00"));
@@ -0,0 +1,50 @@
+package com.api.product_control.controllers;
+
+import com.api.product_control.dtos.ProductView;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductLinksTest {
+
+    @BeforeEach
+    public void setUp(){
+        var request = new MockHttpServletRequest("GET", "/products");
+        request.setServerName("api.example.com");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+    }
+
+    @AfterEach
+    public void tearDown(){
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    public void withSelfLinksAppendsIdToCollectionUri(){
+        var product = new ProductView(UUID.randomUUID(), "Keyboard", new BigDecimal("150.00"), 0L);
+
+        var models = new ProductLinks(true).withSelfLinks(List.of(product), true);
+
+        assertSame(product, models.getFirst().getContent());
+        assertEquals("http://api.example.com/products/" + product.idProduct(),
+                models.getFirst().getRequiredLink(IanaLinkRelations.SELF).getHref());
+    }
+
+    @Test
+    public void withSelfLinksAddsNoLinks_WhenLinksAreNotRequested(){
+        var product = new ProductView(UUID.randomUUID(), "Keyboard", new BigDecimal("150.00"), 0L);
+
+        assertFalse(new ProductLinks(true).withSelfLinks(List.of(product), false).getFirst().hasLinks());
+        assertFalse(new ProductLinks(false).withSelfLinks(List.of(product), true).getFirst().hasLinks());
+    }
+}
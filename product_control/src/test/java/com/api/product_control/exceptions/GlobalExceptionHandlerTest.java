@@ -0,0 +1,43 @@
+package com.api.product_control.exceptions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class GlobalExceptionHandlerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GlobalExceptionHandler globalExceptionHandler = new GlobalExceptionHandler(
+            new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class));
+
+    @Test
+    public void handlersCountErrorsByExceptionType(){
+        var notFound = globalExceptionHandler.handleProductNotFound(new ProductNotFoundException("Product not found."));
+        globalExceptionHandler.handleProductNotFound(new ProductNotFoundException("Product not found."));
+        globalExceptionHandler.handleProductAlreadyExists(new ProductAlreadyExistsException("Conflict"));
+
+        assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
+        assertEquals(2.0, meterRegistry.get(GlobalExceptionHandler.ERRORS_METRIC)
+                .tag("exception", "ProductNotFoundException").counter().count());
+        assertEquals(1.0, meterRegistry.get(GlobalExceptionHandler.ERRORS_METRIC)
+                .tag("exception", "ProductAlreadyExistsException").counter().count());
+    }
+
+    @Test
+    public void serviceUnavailableSetsRetryAfterInSeconds(){
+        var response = globalExceptionHandler.handleServiceUnavailable(
+                new ServiceUnavailableException("The price update queue is full.", Duration.ofMillis(2500)));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("3", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
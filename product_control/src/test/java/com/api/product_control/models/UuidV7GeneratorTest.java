@@ -0,0 +1,39 @@
+package com.api.product_control.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UuidV7GeneratorTest {
+
+    @Test
+    public void nextReturnsVersion7WithRfcVariant(){
+        var uuid = UuidV7Generator.next();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+    }
+
+    @Test
+    public void nextEmbedsCurrentTimestamp(){
+        long before = System.currentTimeMillis();
+        var uuid = UuidV7Generator.next();
+
+        long millis = uuid.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1000);
+    }
+
+    @Test
+    public void nextIsStrictlyIncreasingWithinAndAcrossMilliseconds(){
+        UUID previous = UuidV7Generator.next();
+        for(int i = 0; i < 100_000; i++){
+            UUID current = UuidV7Generator.next();
+            UUID last = previous;
+            assertTrue(Long.compareUnsigned(current.getMostSignificantBits(), last.getMostSignificantBits()) > 0,
+                    () -> current + " was generated after " + last);
+            previous = current;
+        }
+    }
+}
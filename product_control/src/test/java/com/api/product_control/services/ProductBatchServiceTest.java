@@ -0,0 +1,125 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductBatchProperties;
+import com.api.product_control.dtos.ProductBatchStatus;
+import com.api.product_control.dtos.ProductBatchUpdateDto;
+import com.api.product_control.dtos.ProductDto;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductBatchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductBatchService productBatchService;
+
+    @BeforeEach
+    public void setUp(){
+        productBatchService = new ProductBatchService(productRepository, productChangeLog, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), new ProductBatchProperties(2));
+    }
+
+    @Test
+    public void saveAllReportsStatusPerItemAndChunk(){
+        var productDtos = new ArrayList<ProductDto>();
+        productDtos.add(new ProductDto("Keyboard", new BigDecimal("150.00")));
+        productDtos.add(new ProductDto("Monitor", new BigDecimal("900.00")));
+        productDtos.add(new ProductDto(" keyboard ", new BigDecimal("150.00")));
+        productDtos.add(new ProductDto("", new BigDecimal("10.00")));
+        productDtos.add(null);
+
+        when(productRepository.findExistingNameKeys(anyCollection())).thenReturn(Set.of("monitor"));
+        var result = productBatchService.saveAll(productDtos);
+
+        assertEquals(5, result.total());
+        assertEquals(1, result.succeeded());
+        assertEquals(List.of(ProductBatchStatus.CREATED, ProductBatchStatus.CONFLICT, ProductBatchStatus.CONFLICT,
+                        ProductBatchStatus.INVALID, ProductBatchStatus.INVALID),
+                result.items().stream().map(item -> item.status()).toList());
+        assertEquals(List.of(0, 0, 1, 1, 2), result.items().stream().map(item -> item.chunk()).toList());
+        verify(productRepository, times(2)).findExistingNameKeys(anyCollection());
+        verify(transactionManager, times(3)).commit(any());
+    }
+
+    @Test
+    public void saveAllLeavesNamesOfRolledBackChunkFreeForLaterChunks(){
+        var productDtos = List.of(
+                new ProductDto("Keyboard", new BigDecimal("150.00")),
+                new ProductDto("Mouse", new BigDecimal("50.00")),
+                new ProductDto("keyboard", new BigDecimal("140.00")),
+                new ProductDto("Mouse", new BigDecimal("45.00")));
+
+        when(productRepository.saveAll(anyIterable())).thenThrow(new DataIntegrityViolationException("deadlock"))
+                .thenReturn(List.of());
+        var result = productBatchService.saveAll(productDtos);
+
+        assertEquals(List.of(ProductBatchStatus.FAILED, ProductBatchStatus.FAILED, ProductBatchStatus.CREATED,
+                        ProductBatchStatus.CREATED),
+                result.items().stream().map(item -> item.status()).toList());
+        verify(transactionManager, times(1)).rollback(any());
+    }
+
+    @Test
+    public void updateAllRejectsNamesOwnedByOtherProducts(){
+        var product = productWithName("Keyboard");
+        var other = productWithName("Monitor");
+        var missingId = UUID.randomUUID();
+        var productDtos = List.of(
+                new ProductBatchUpdateDto(product.getIdProduct(), "Monitor", new BigDecimal("150.00")),
+                new ProductBatchUpdateDto(missingId, "Mouse", new BigDecimal("50.00")));
+
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product));
+        when(productRepository.findByNameKeyIn(anyCollection())).thenReturn(List.of(other));
+        var result = productBatchService.updateAll(productDtos);
+
+        assertEquals(ProductBatchStatus.CONFLICT, result.items().get(0).status());
+        assertEquals(ProductBatchStatus.NOT_FOUND, result.items().get(1).status());
+        assertEquals("Keyboard", product.getName());
+    }
+
+    @Test
+    public void deleteAllRemovesOnlyExistingProductsInOneStatementPerChunk(){
+        var existingId = UUID.randomUUID();
+        var missingId = UUID.randomUUID();
+
+        when(productRepository.findExistingIds(anyCollection())).thenReturn(Set.of(existingId));
+        var result = productBatchService.deleteAll(List.of(existingId, missingId));
+
+        assertEquals(ProductBatchStatus.DELETED, result.items().get(0).status());
+        assertEquals(ProductBatchStatus.NOT_FOUND, result.items().get(1).status());
+        verify(productRepository, times(1)).deleteAllByIdInBatch(Set.of(existingId));
+    }
+
+    private ProductModel productWithName(String name){
+        var productModel = new ProductModel();
+        productModel.setIdProduct(UUID.randomUUID());
+        productModel.setName(name);
+        productModel.setValue(new BigDecimal("100.00"));
+        return productModel;
+    }
+}
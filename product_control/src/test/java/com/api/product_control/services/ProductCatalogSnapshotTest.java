@@ -0,0 +1,105 @@
+package com.api.product_control.services;
+
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductSnapshotRow;
+import com.api.product_control.dtos.ProductView;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProductCatalogSnapshotTest {
+
+    private static final ProductCatalogStamp STAMP = new ProductCatalogStamp(7);
+
+    @Test
+    public void pagesFollowUnsignedIdAndValueOrders_AndLeaveNameSortsToDatabase(){
+        var high = row(new UUID(0xF000000000000000L, 1), "mouse", "50.00");
+        var low = row(new UUID(0x0100000000000000L, 1), "Keyboard", "150.00");
+        var middle = row(new UUID(0x7000000000000000L, 1), "Monitor", null);
+        var snapshot = ProductCatalogSnapshot.of(List.of(high, low, middle), STAMP);
+
+        assertEquals(List.of(low.idProduct(), middle.idProduct(), high.idProduct()),
+                ids(snapshot, PageRequest.of(0, 10, Sort.by("idProduct"))));
+        assertEquals(List.of(low.idProduct(), high.idProduct(), middle.idProduct()),
+                ids(snapshot, PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "value", "idProduct"))));
+        assertEquals(List.of(middle.idProduct(), high.idProduct()),
+                ids(snapshot, PageRequest.of(0, 2, Sort.by("value"))));
+        assertEquals(List.of(low.idProduct()), ids(snapshot, PageRequest.of(1, 2, Sort.by("value"))));
+        assertTrue(snapshot.page(PageRequest.of(0, 10, Sort.by("modifiedAt"))).isEmpty());
+        assertTrue(snapshot.page(PageRequest.of(0, 10, Sort.by("name", "idProduct"))).isEmpty());
+        assertTrue(snapshot.page(PageRequest.of(0, 10, Sort.by("value").and(Sort.by("name")))).isEmpty());
+    }
+
+    @Test
+    public void findDecodesEveryColumn(){
+        var wide = new BigDecimal("123456789012345678901234567890.12");
+        var product = row(UUID.randomUUID(), "Teclado mecânico, \"ABNT2\"", "0.00");
+        var wideProduct = new ProductSnapshotRow(UUID.randomUUID(), null, wide, 7L);
+        var snapshot = ProductCatalogSnapshot.of(List.of(product, wideProduct), STAMP);
+
+        assertEquals(Optional.of(new ProductView(product.idProduct(), product.name(), new BigDecimal("0.00"), 3L)),
+                snapshot.find(product.idProduct()));
+        assertEquals(Optional.of(new ProductView(wideProduct.idProduct(), null, wide, 7L)),
+                snapshot.find(wideProduct.idProduct()));
+        assertEquals(Optional.empty(), snapshot.find(UUID.randomUUID()));
+        assertTrue(snapshot.memoryBytes() > 0);
+    }
+
+    @Test
+    public void withChangesReplacesUpdatedRowsAndDropsDeletedOnes(){
+        var kept = row(UUID.randomUUID(), "Keyboard", "150.00");
+        var updated = row(UUID.randomUUID(), "Monitor", "900.00");
+        var deleted = row(UUID.randomUUID(), "Mouse", "50.00");
+        var snapshot = ProductCatalogSnapshot.of(List.of(kept, updated, deleted), STAMP);
+        var newValue = new ProductSnapshotRow(updated.idProduct(), "Monitor", new BigDecimal("850.00"), 4L);
+        var later = new ProductCatalogStamp(9);
+
+        var changed = snapshot.withChanges(List.of(updated.idProduct(), deleted.idProduct()), List.of(newValue), later);
+
+        assertEquals(STAMP, snapshot.stamp());
+        assertEquals(later, changed.stamp());
+        assertEquals(2, changed.size());
+        assertEquals(new BigDecimal("850.00"), changed.find(updated.idProduct()).orElseThrow().value());
+        assertTrue(changed.find(deleted.idProduct()).isEmpty());
+        assertTrue(snapshot.find(deleted.idProduct()).isPresent());
+    }
+
+    @Test
+    public void withChangesKeepsEveryOrderOfFullRebuild(){
+        var keyboard = row(new UUID(0x0100000000000000L, 1), "Keyboard", "150.00");
+        var monitor = row(new UUID(0x3000000000000000L, 1), "Monitor", "900.00");
+        var mouse = row(new UUID(0x5000000000000000L, 1), "Mouse", "50.00");
+        var unnamed = row(new UUID(0x7000000000000000L, 1), null, null);
+        var headset = row(new UUID(0xF000000000000000L, 1), "headset", "300.00");
+        var snapshot = ProductCatalogSnapshot.of(List.of(keyboard, monitor, mouse, unnamed, headset), STAMP);
+        var renamed = row(monitor.idProduct(), "Cable", "123456789012345678901234567890.12");
+        var inserted = row(new UUID(0x4000000000000000L, 1), "Mouse", "50.00");
+        var first = row(new UUID(0x0000000000000001L, 1), "Webcam", "10.00");
+
+        var changed = snapshot.withChanges(List.of(monitor.idProduct(), mouse.idProduct(), inserted.idProduct(),
+                first.idProduct(), UUID.randomUUID()), List.of(renamed, inserted, first), STAMP);
+        var rebuilt = ProductCatalogSnapshot.of(List.of(keyboard, renamed, inserted, unnamed, headset, first), STAMP);
+
+        for(var sort : List.of(Sort.by("idProduct"), Sort.by("value", "idProduct"),
+                Sort.by(Sort.Direction.DESC, "value", "idProduct"))){
+            assertEquals(ids(rebuilt, PageRequest.of(0, 10, sort)), ids(changed, PageRequest.of(0, 10, sort)));
+        }
+        assertEquals(rebuilt.memoryBytes(), changed.memoryBytes());
+        assertEquals(rebuilt.find(renamed.idProduct()), changed.find(renamed.idProduct()));
+    }
+
+    private static List<UUID> ids(ProductCatalogSnapshot snapshot, PageRequest pageRequest){
+        return snapshot.page(pageRequest).orElseThrow().getContent().stream().map(ProductView::idProduct).toList();
+    }
+
+    private static ProductSnapshotRow row(UUID id, String name, String value){
+        return new ProductSnapshotRow(id, name, value == null ? null : new BigDecimal(value), 3L);
+    }
+}
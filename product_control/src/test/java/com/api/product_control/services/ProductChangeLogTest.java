@@ -0,0 +1,80 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductChangeProperties;
+import com.api.product_control.dtos.ProductChangeDto;
+import com.api.product_control.exceptions.InvalidRequestParameterException;
+import com.api.product_control.models.ProductChangeModel;
+import com.api.product_control.models.ProductChangeType;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductChangeLogTest {
+
+    private static final Instant NOW = Instant.parse("2024-10-01T12:00:00Z");
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    private ProductChangeLog productChangeLog;
+
+    @BeforeEach
+    public void setUp(){
+        productChangeLog = new ProductChangeLog(productChangeRepository, mock(ProductReadCoalescer.class),
+                mock(ProductSnapshotEngine.class), mock(ReplicaLagEviction.class),
+                new ProductChangeProperties(1000, Duration.ofSeconds(1), Duration.ofSeconds(15)),
+                Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    public void changesSinceSkipsGapsLeftByRolledBackTransactions(){
+        when(productChangeRepository.findBySequenceGreaterThanOrderBySequenceAsc(2L, Limit.of(10)))
+                .thenReturn(List.of(change(4, NOW.minusSeconds(10)), change(7, NOW)));
+        var changes = productChangeLog.changesSince(2, 10);
+
+        assertEquals(List.of(4L, 7L), changes.changes().stream().map(ProductChangeDto::sequence).toList());
+        assertEquals(7, changes.nextSince());
+    }
+
+    @Test
+    public void recordSavedLocksSequenceAfterFlushingProducts(){
+        var productModel = new ProductModel();
+        productModel.setIdProduct(UUID.randomUUID());
+        productModel.setName("Keyboard");
+
+        productChangeLog.recordSaved(ProductChangeType.UPDATED, List.of(productModel));
+
+        var inOrder = inOrder(productChangeRepository);
+        inOrder.verify(productChangeRepository).flush();
+        inOrder.verify(productChangeRepository).lockSequence();
+        inOrder.verify(productChangeRepository).saveAll(anyList());
+    }
+
+    @Test
+    public void changesSinceRejectsLimitAboveMaximum(){
+        assertThrows(InvalidRequestParameterException.class, () -> productChangeLog.changesSince(0, 1001));
+        verifyNoInteractions(productChangeRepository);
+    }
+
+    private ProductChangeModel change(long sequence, Instant recordedAt){
+        var change = ProductChangeModel.tombstone(UUID.randomUUID(), recordedAt);
+        change.setSequence(sequence);
+        return change;
+    }
+}
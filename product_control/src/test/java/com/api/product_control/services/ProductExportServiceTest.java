@@ -0,0 +1,68 @@
+package com.api.product_control.services;
+
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductExportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private ProductExportService productExportService;
+
+    @BeforeEach
+    public void setUp(){
+        productExportService = new ProductExportService(productRepository, transactionManager, new ObjectMapper());
+    }
+
+    @Test
+    public void exportWritesOneJsonObjectPerLine(){
+        var keyboard = product("Keyboard", "150.00");
+        var monitor = product("Monitor", "900.00");
+        var outputStream = new ByteArrayOutputStream();
+
+        when(productRepository.streamAllViews()).thenReturn(Stream.of(keyboard, monitor));
+        productExportService.export(ProductFileFormat.NDJSON, outputStream);
+
+        var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals("{\"idProduct\":\"" + keyboard.idProduct() + "\",\"name\":\"Keyboard\",\"value\":150.00}", lines[0]);
+        assertEquals("{\"idProduct\":\"" + monitor.idProduct() + "\",\"name\":\"Monitor\",\"value\":900.00}", lines[1]);
+    }
+
+    @Test
+    public void exportWritesCsvWithEscapedNames(){
+        var product = product("Mouse, \"wireless\"", "50.00");
+        var outputStream = new ByteArrayOutputStream();
+
+        when(productRepository.streamAllViews()).thenReturn(Stream.of(product));
+        productExportService.export(ProductFileFormat.CSV, outputStream);
+
+        assertEquals("idProduct,name,value\r\n" + product.idProduct() + ",\"Mouse, \"\"wireless\"\"\",50.00\r\n",
+                outputStream.toString(StandardCharsets.UTF_8));
+    }
+
+    private ProductView product(String name, String value){
+        return new ProductView(UUID.randomUUID(), name, new BigDecimal(value), 0L);
+    }
+}
@@ -0,0 +1,129 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductBatchProperties;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductImportServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private ProductImportService productImportService;
+
+    @BeforeEach
+    public void setUp(){
+        productImportService = new ProductImportService(productRepository, productChangeLog, transactionManager,
+                Validation.buildDefaultValidatorFactory().getValidator(), objectMapper, new ProductBatchProperties(2));
+    }
+
+    @Test
+    public void importSkipsDuplicatesAndReportsRejectedRows() throws IOException {
+        var body = """
+                {"name":"Keyboard","value":150.00}
+                {"name":"Monitor","value":900.00}
+                {"name":"","value":10.00}
+                not json
+                {"name":"Mouse","value":50.00}
+                """;
+
+        when(productRepository.findByNameKeyIn(anyCollection()))
+                .thenReturn(List.of(product("Monitor")))
+                .thenReturn(List.of());
+        var events = importProducts(body, ProductFileFormat.NDJSON, ProductImportDuplicatePolicy.SKIP);
+
+        assertEquals(List.of("progress", "rejected", "rejected", "progress"),
+                events.stream().map(event -> event.get("type")).toList());
+        assertEquals(3L, ((Number) events.get(1).get("line")).longValue());
+        var summary = events.getLast();
+        assertEquals("COMPLETED", summary.get("status"));
+        assertEquals(5, summary.get("processed"));
+        assertEquals(2, summary.get("created"));
+        assertEquals(1, summary.get("skipped"));
+        assertEquals(2, summary.get("rejected"));
+        verify(productRepository, times(2)).saveAll(anyList());
+    }
+
+    @Test
+    public void importUpdatesExistingProductsFromCsv_WhenPolicyIsUpsert() throws IOException {
+        var existing = product("Mouse, \"wireless\"");
+        var body = "idProduct,name,value\r\n" + existing.getIdProduct() + ",\"Mouse, \"\"wireless\"\"\",75.00\r\n";
+
+        when(productRepository.findByNameKeyIn(anyCollection())).thenReturn(List.of(existing));
+        var events = importProducts(body, ProductFileFormat.CSV, ProductImportDuplicatePolicy.UPSERT);
+
+        assertEquals(new BigDecimal("75.00"), existing.getValue());
+        assertEquals(1, events.getLast().get("updated"));
+        assertEquals(0, events.getLast().get("created"));
+    }
+
+    @Test
+    public void importAbortsAndRollsBackBatch_WhenPolicyIsFail() throws IOException {
+        var body = """
+                {"name":"Keyboard","value":150.00}
+                {"name":"Keyboard","value":160.00}
+                """;
+
+        var events = importProducts(body, ProductFileFormat.NDJSON, ProductImportDuplicatePolicy.FAIL);
+
+        var summary = events.getLast();
+        assertEquals("ABORTED", summary.get("status"));
+        assertTrue(((String) summary.get("message")).contains("line 2"));
+        verify(transactionManager, times(1)).rollback(any());
+        verify(productRepository, never()).saveAll(anyList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Map<String, Object>> importProducts(String body, ProductFileFormat format,
+                                                     ProductImportDuplicatePolicy policy) throws IOException {
+        var outputStream = new ByteArrayOutputStream();
+        productImportService.importProducts(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)),
+                format, policy, outputStream);
+        return outputStream.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return (Map<String, Object>) objectMapper.readValue(line, Map.class);
+                    } catch (IOException ex) {
+                        throw new AssertionError(ex);
+                    }
+                })
+                .toList();
+    }
+
+    private ProductModel product(String name){
+        var productModel = new ProductModel();
+        productModel.setIdProduct(UUID.randomUUID());
+        productModel.setName(name);
+        productModel.setValue(new BigDecimal("100.00"));
+        return productModel;
+    }
+}
@@ -0,0 +1,134 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ProductPriceUpdateProperties;
+import com.api.product_control.exceptions.ServiceUnavailableException;
+import com.api.product_control.models.ProductChangeType;
+import com.api.product_control.models.ProductModel;
+import com.api.product_control.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductPriceUpdateQueueTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductPriceUpdateQueue productPriceUpdateQueue;
+
+    @BeforeEach
+    public void setUp(){
+        productPriceUpdateQueue = new ProductPriceUpdateQueue(productRepository, productChangeLog, transactionManager,
+                cacheManager, new ProductPriceUpdateProperties(2, Duration.ZERO, 500, Duration.ofSeconds(1)),
+                meterRegistry);
+    }
+
+    @Test
+    public void flushAppliesLastValuePerProductInOneQuery(){
+        var product = product("100.00");
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put(product.getIdProduct(), "cached view");
+        productPriceUpdateQueue.enqueue(product.getIdProduct(), new BigDecimal("110.00"));
+        productPriceUpdateQueue.enqueue(product.getIdProduct(), new BigDecimal("120.00"));
+
+        when(productRepository.findAllById(List.of(product.getIdProduct()))).thenReturn(List.of(product));
+        productPriceUpdateQueue.flush();
+
+        assertEquals(new BigDecimal("120.00"), product.getValue());
+        assertEquals(0, productPriceUpdateQueue.size());
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(product.getIdProduct()));
+        verify(productRepository, times(1)).findAllById(anyIterable());
+        verify(productChangeLog).recordSaved(ProductChangeType.UPDATED, List.of(product));
+        assertEquals(1.0, outcome("merged"));
+        assertEquals(1.0, outcome("applied"));
+    }
+
+    @Test
+    public void flushDiscardsUpdatesForDeletedProducts(){
+        productPriceUpdateQueue.enqueue(UUID.randomUUID(), new BigDecimal("10.00"));
+
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of());
+        productPriceUpdateQueue.flush();
+
+        assertEquals(1.0, outcome("discarded"));
+        verify(productChangeLog).recordSaved(ProductChangeType.UPDATED, List.of());
+    }
+
+    @Test
+    public void enqueueRejectsNewProducts_WhenQueueIsFull(){
+        var first = UUID.randomUUID();
+        productPriceUpdateQueue.enqueue(first, new BigDecimal("10.00"));
+        productPriceUpdateQueue.enqueue(UUID.randomUUID(), new BigDecimal("20.00"));
+
+        assertThrows(ServiceUnavailableException.class,
+                () -> productPriceUpdateQueue.enqueue(UUID.randomUUID(), new BigDecimal("30.00")));
+        productPriceUpdateQueue.enqueue(first, new BigDecimal("11.00"));
+        assertEquals(2, productPriceUpdateQueue.size());
+    }
+
+    @Test
+    public void failedChunkIsRequeuedWithoutOverwritingNewerUpdates(){
+        var product = product("100.00");
+        productPriceUpdateQueue.enqueue(product.getIdProduct(), new BigDecimal("110.00"));
+
+        when(productRepository.findAllById(anyIterable())).thenAnswer(invocation -> {
+            productPriceUpdateQueue.enqueue(product.getIdProduct(), new BigDecimal("130.00"));
+            throw new CannotAcquireLockException("Lock wait timeout exceeded");
+        }).thenReturn(List.of(product));
+        productPriceUpdateQueue.flush();
+        assertEquals(1, productPriceUpdateQueue.size());
+        productPriceUpdateQueue.flush();
+
+        assertEquals(new BigDecimal("130.00"), product.getValue());
+    }
+
+    @Test
+    public void destroyDrainsQueueAndRejectsNewUpdates() throws Exception {
+        var product = product("100.00");
+        productPriceUpdateQueue.enqueue(product.getIdProduct(), new BigDecimal("90.00"));
+
+        when(productRepository.findAllById(anyIterable())).thenReturn(List.of(product));
+        productPriceUpdateQueue.destroy();
+
+        assertEquals(new BigDecimal("90.00"), product.getValue());
+        assertThrows(ServiceUnavailableException.class,
+                () -> productPriceUpdateQueue.enqueue(product.getIdProduct(), new BigDecimal("80.00")));
+    }
+
+    private double outcome(String outcome){
+        return meterRegistry.get(ProductPriceUpdateQueue.METRIC).tag("outcome", outcome).counter().count();
+    }
+
+    private ProductModel product(String value){
+        var productModel = new ProductModel();
+        productModel.setIdProduct(UUID.randomUUID());
+        productModel.setName("Keyboard");
+        productModel.setValue(new BigDecimal(value));
+        return productModel;
+    }
+}
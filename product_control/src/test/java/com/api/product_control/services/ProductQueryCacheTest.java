@@ -0,0 +1,39 @@
+package com.api.product_control.services;
+
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.models.ProductModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Answers;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductQueryCacheTest {
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private EntityManagerFactory entityManagerFactory;
+
+    @InjectMocks
+    private ProductQueryCache productQueryCache;
+
+    @Test
+    public void observeEvictsQueryResultsAndProducts_OnlyWhenStampChanges(){
+        var hibernateCache = mock(Cache.class);
+        when(entityManagerFactory.getCache().unwrap(Cache.class)).thenReturn(hibernateCache);
+        var first = new ProductCatalogStamp(2);
+        var second = new ProductCatalogStamp(3);
+
+        productQueryCache.observe(first);
+        productQueryCache.observe(first);
+        productQueryCache.observe(second);
+
+        verify(hibernateCache, times(1)).evictDefaultQueryRegion();
+        verify(hibernateCache, times(1)).evictEntityData(ProductModel.class);
+    }
+}
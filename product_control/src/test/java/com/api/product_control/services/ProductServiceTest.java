@@ -1,20 +1,45 @@
 package com.api.product_control.services;
 
+import com.api.product_control.configs.ProductCoalescingProperties;
+import com.api.product_control.configs.ReadYourWritesFilter;
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductSearchCriteria;
+import com.api.product_control.dtos.ProductSnapshotRow;
+import com.api.product_control.dtos.ProductView;
+import com.api.product_control.exceptions.InvalidCursorException;
+import com.api.product_control.exceptions.InvalidRequestParameterException;
+import com.api.product_control.exceptions.ProductAlreadyExistsException;
+import com.api.product_control.models.ProductChangeType;
 import com.api.product_control.models.ProductModel;
 import com.api.product_control.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 
 import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -25,6 +50,19 @@ public class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductChangeLog productChangeLog;
+
+    @Mock
+    private ProductQueryCache productQueryCache;
+
+    @Mock
+    private ProductSnapshotEngine productSnapshotEngine;
+
+    @Spy
+    private ProductReadCoalescer productReadCoalescer = new ProductReadCoalescer(
+            new ProductCoalescingProperties(true, Duration.ofSeconds(1)), new SimpleMeterRegistry());
+
     @InjectMocks
     private ProductService productService;
 
@@ -35,46 +73,142 @@ public class ProductServiceTest {
         productModel.setName("Smartphone Xiaomi Redmi Note 11");
         productModel.setValue(new BigDecimal("2000.00"));
 
-        when(productRepository.save(productModel)).thenReturn(productModel);
+        when(productRepository.saveAndFlush(productModel)).thenReturn(productModel);
         var savedProduct = productService.save(productModel);
 
         assertEquals(productModel.getIdProduct(),savedProduct.getIdProduct());
-        verify(productRepository,(times(1))).save(productModel);
+        verify(productRepository,(times(1))).saveAndFlush(productModel);
+        verify(productRepository, never()).existsByNameKey(any());
+        verify(productChangeLog, times(1)).recordSaved(ProductChangeType.UPDATED, List.of(productModel));
+    }
+
+    @Test
+    public void saveThrowsProductAlreadyExistsException_WhenNameKeyIsTaken(){
+        var productModel = productNamed("Keyboard");
+        var violation = new ConstraintViolationException("Duplicate entry", new SQLException(),
+                "tb_products." + ProductModel.NAME_KEY_CONSTRAINT.toLowerCase());
+
+        when(productRepository.saveAndFlush(productModel))
+                .thenThrow(new DataIntegrityViolationException("Duplicate entry", violation));
+
+        assertThrows(ProductAlreadyExistsException.class, () -> productService.save(productModel));
     }
 
     @Test
     public void findAllReturnsPageOfProducts(){
         var pageable = Pageable.ofSize(10);
-        var products = List.of(new ProductModel(), new ProductModel());
-        Page<ProductModel> page = new PageImpl<>(products);
+        var products = List.of(new ProductView(UUID.randomUUID(), "Keyboard", new BigDecimal("150.00"), 0L),
+                new ProductView(UUID.randomUUID(), "Monitor", new BigDecimal("900.00"), 0L));
+        Page<ProductView> page = new PageImpl<>(products);
+
+        when(productRepository.findAllViews(pageable)).thenReturn(page);
+        Page<ProductView> productViewPage = productService.findAll(pageable);
+
+        assertEquals(products.size(),productViewPage.getContent().size());
+        verify(productRepository, times(1)).findAllViews(pageable);
+    }
+
+    @Test
+    public void readsAreServedFromSnapshotWithoutDatabase_WhenSnapshotIsLoaded(){
+        var stamp = new ProductCatalogStamp(5);
+        var keyboard = new ProductSnapshotRow(UUID.randomUUID(), "Keyboard", new BigDecimal("150.00"), 1L);
+        var monitor = new ProductSnapshotRow(UUID.randomUUID(), "Monitor", new BigDecimal("900.00"), 0L);
+
+        when(productSnapshotEngine.current()).thenReturn(ProductCatalogSnapshot.of(List.of(monitor, keyboard), stamp));
+        Page<ProductView> page = productService.findAll(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "value")));
+
+        assertEquals(List.of(new ProductView(monitor.idProduct(), "Monitor", new BigDecimal("900.00"), 0L)),
+                page.getContent());
+        assertEquals(2, page.getTotalElements());
+        assertEquals(Optional.of(new ProductView(keyboard.idProduct(), "Keyboard", new BigDecimal("150.00"), 1L)),
+                productService.findViewById(keyboard.idProduct()));
+        assertEquals(stamp, productService.catalogStamp());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    public void catalogStampIsReadFromDatabaseAndObserved(){
+        var stamp = new ProductCatalogStamp(2);
+
+        when(productRepository.findCatalogStamp()).thenReturn(stamp);
+
+        assertEquals(stamp, productService.catalogStamp());
+        verify(productQueryCache, times(1)).observe(stamp);
+    }
+
+    @Test
+    public void scrollReturnsNextCursor_WhenMoreProductsExist(){
+        var pageable = PageRequest.of(0, 2, Sort.by("name"));
+        var products = List.of(productNamed("Keyboard"), productNamed("Monitor"), productNamed("Mouse"));
+
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(products);
+        var scroll = productService.scroll(null, pageable);
+
+        assertEquals(2, scroll.content().size());
+        assertNull(scroll.previousCursor());
+        var next = ProductCursor.decode(scroll.nextCursor());
+        assertEquals(products.get(1).getIdProduct(), next.id());
+        assertEquals("Monitor", next.key());
+        assertTrue(next.forward());
+    }
+
+    @Test
+    public void scrollReturnsOnlyPreviousCursor_WhenLastPageReached(){
+        var pageable = PageRequest.of(0, 2, Sort.by("name"));
+        var anchor = productNamed("Keyboard");
+        var cursor = ProductCursor.first(pageable.getSort()).after(ProductView.of(anchor)).encode();
+        var products = List.of(productNamed("Monitor"));
+
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(products);
+        var scroll = productService.scroll(cursor, pageable);
 
-        when(productRepository.findAll(pageable)).thenReturn(page);
-        Page<ProductModel> productModelPage = productService.findAll(pageable);
+        assertEquals(1, scroll.content().size());
+        assertNull(scroll.nextCursor());
+        var previous = ProductCursor.decode(scroll.previousCursor());
+        assertEquals(products.getFirst().getIdProduct(), previous.id());
+        assertFalse(previous.forward());
+    }
 
-        assertEquals(products.size(),productModelPage.getContent().size());
-        verify(productRepository, times(1)).findAll(pageable);
+    @Test
+    public void scrollThrowsInvalidCursorException_WhenCursorIsMalformed(){
+        assertThrows(InvalidCursorException.class, () -> productService.scroll("not-a-cursor", Pageable.ofSize(10)));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
-    public void existsByNameReturnsTrue(){
-        String productName = "Smartphone Xiaomi Redmi Note 11";
+    public void searchReturnsMatchingProductsPage(){
+        var pageable = PageRequest.of(0, 10, Sort.by("value"));
+        var criteria = ProductSearchCriteria.of("key", "prefix", new BigDecimal("100.00"), null);
+        Page<ProductView> page = new PageImpl<>(List.of(ProductView.of(productNamed("Keyboard"))), pageable, 1);
 
-        when(productRepository.existsByName(productName)).thenReturn(true);
-        boolean productExists = productService.existsByName(productName);
+        when(productRepository.findViews(any(Specification.class), eq(pageable))).thenReturn(page);
+        Page<ProductView> productViewPage = productService.search(criteria, pageable);
 
-        assertTrue(productExists);
-        verify(productRepository, times(1)).existsByName(productName);
+        assertEquals(1, productViewPage.getTotalElements());
+        assertEquals("Keyboard", productViewPage.getContent().getFirst().name());
     }
 
     @Test
-    public void existsByNameReturnsFalse(){
-        String productName = "Smartphone Xiaomi Redmi Note 11";
+    public void searchScrollReturnsNextCursor_WhenMoreMatchesExist(){
+        var pageable = PageRequest.of(0, 1, Sort.by("value"));
+        var criteria = ProductSearchCriteria.of("o", "contains", null, new BigDecimal("1000.00"));
+        var products = List.of(productNamed("Monitor"), productNamed("Mouse"));
 
-        when(productRepository.existsByName(productName)).thenReturn(false);
-        boolean productExists = productService.existsByName(productName);
+        when(productRepository.findBy(any(Specification.class), any())).thenReturn(products);
+        var scroll = productService.searchScroll(criteria, null, pageable);
 
-        assertFalse(productExists);
-        verify(productRepository, times(1)).existsByName(productName);
+        assertEquals(1, scroll.content().size());
+        var next = ProductCursor.decode(scroll.nextCursor());
+        assertEquals("value", next.property());
+        assertEquals(products.getFirst().getIdProduct(), next.id());
+    }
+
+    @Test
+    public void searchCriteriaRejectsInvalidParameters(){
+        assertThrows(InvalidRequestParameterException.class, () ->
+                ProductSearchCriteria.of(null, "prefix", new BigDecimal("10.00"), new BigDecimal("5.00")));
+        assertThrows(InvalidRequestParameterException.class, () ->
+                ProductSearchCriteria.of("key", "suffix", null, null));
     }
 
     @Test
@@ -83,32 +217,103 @@ public class ProductServiceTest {
         var id = UUID.randomUUID();
         productModel.setIdProduct(id);
 
-        when(productRepository.findById(id)).thenReturn(Optional.of(productModel));
+        when(productRepository.findForWrite(id)).thenReturn(Optional.of(productModel));
         Optional<ProductModel> productModelOptional = productService.findById(id);
 
         assertTrue(productModelOptional.isPresent());
         assertEquals(id, productModelOptional.get().getIdProduct());
-        verify(productRepository, times(1)).findById(id);
+        verify(productRepository, times(1)).findForWrite(id);
+    }
+
+    @Test
+    public void findViewByIdReturnsProjection(){
+        var id = UUID.randomUUID();
+        var productView = new ProductView(id, "Smartphone Xiaomi Redmi Note 11", new BigDecimal("2000.00"), 0L);
+
+        when(productRepository.findViewById(id)).thenReturn(Optional.of(productView));
+        Optional<ProductView> productViewOptional = productService.findViewById(id);
+
+        assertEquals(Optional.of(productView), productViewOptional);
+        verify(productRepository, times(1)).findViewById(id);
+        verify(productRepository, never()).findForWrite(id);
     }
 
     @Test
     public void findByIdReturnsEmptyOptional(){
         var id = UUID.randomUUID();
 
-        when(productRepository.findById(id)).thenReturn(Optional.empty());
+        when(productRepository.findForWrite(id)).thenReturn(Optional.empty());
         Optional<ProductModel> productModelOptional = productService.findById(id);
 
         assertTrue(productModelOptional.isEmpty());
-        verify(productRepository, times(1)).findById(id);
+        verify(productRepository, times(1)).findForWrite(id);
     }
 
     @Test
     public void deleteRemovesProduct(){
         var productModel = new ProductModel();
+        productModel.setIdProduct(UUID.randomUUID());
 
         doNothing().when(productRepository).delete(productModel);
         productService.delete(productModel);
 
         verify(productRepository,times(1)).delete(productModel);
+        verify(productChangeLog, times(1)).recordDeleted(List.of(productModel.getIdProduct()));
+    }
+
+    @Test
+    public void readsPinnedByRecentWriteBypassSnapshotAndCachedQueries() throws Exception {
+        var pageable = PageRequest.of(0, 10);
+        Page<ProductView> page = new PageImpl<>(List.of(
+                new ProductView(UUID.randomUUID(), "Keyboard", new BigDecimal("150.00"), 1L)));
+        when(productRepository.findAllViewsUncached(pageable)).thenReturn(page);
+        var request = new MockHttpServletRequest("GET", "/products");
+        request.setCookies(new Cookie("product_last_write", Long.toString(System.currentTimeMillis())));
+
+        new ReadYourWritesFilter(Duration.ofSeconds(5)).doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> assertEquals(page, productService.findAll(pageable)));
+
+        verifyNoInteractions(productSnapshotEngine);
+        verify(productRepository, never()).findAllViews(any());
+    }
+
+    @Test
+    public void pinnedReadDoesNotJoinQueryInFlight() throws Exception {
+        var id = UUID.randomUUID();
+        var fromReplica = Optional.of(new ProductView(id, "Keyboard", new BigDecimal("150.00"), 1L));
+        var fromPrimary = Optional.of(new ProductView(id, "Keyboard", new BigDecimal("120.00"), 2L));
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var leader = CompletableFuture.supplyAsync(() -> productReadCoalescer.findViewById(id, () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return fromReplica;
+        }));
+        assertTrue(started.await(1, TimeUnit.SECONDS));
+        CompletableFuture.delayedExecutor(100, TimeUnit.MILLISECONDS).execute(release::countDown);
+        when(productRepository.findViewById(id)).thenReturn(fromPrimary);
+        var request = new MockHttpServletRequest("GET", "/products/" + id);
+        request.setCookies(new Cookie("product_last_write", Long.toString(System.currentTimeMillis())));
+
+        new ReadYourWritesFilter(Duration.ofSeconds(5)).doFilter(request, new MockHttpServletResponse(),
+                (servletRequest, servletResponse) -> assertEquals(fromPrimary, productService.findViewById(id)));
+
+        assertEquals(fromReplica, leader.get(1, TimeUnit.SECONDS));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch){
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ProductModel productNamed(String name){
+        var productModel = new ProductModel();
+        productModel.setIdProduct(UUID.randomUUID());
+        productModel.setName(name);
+        productModel.setValue(new BigDecimal("100.00"));
+        return productModel;
     }
 }
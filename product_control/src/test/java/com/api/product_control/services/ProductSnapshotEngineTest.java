@@ -0,0 +1,161 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.ProductSnapshotProperties;
+import com.api.product_control.dtos.ProductCatalogStamp;
+import com.api.product_control.dtos.ProductSnapshotRow;
+import com.api.product_control.repositories.ProductChangeRepository;
+import com.api.product_control.repositories.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ProductSnapshotEngineTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductChangeRepository productChangeRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ProductSnapshotRow keyboard = row("Keyboard", "150.00");
+
+    private ProductSnapshotEngine productSnapshotEngine;
+
+    @BeforeEach
+    public void setUp(){
+        productSnapshotEngine = new ProductSnapshotEngine(productRepository, productChangeRepository, transactionManager,
+                new ProductSnapshotProperties(true, Duration.ZERO, 2), meterRegistry);
+        when(productRepository.findCatalogStamp()).thenReturn(new ProductCatalogStamp(1));
+        when(productRepository.streamSnapshotRows()).thenReturn(Stream.of(keyboard));
+        productSnapshotEngine.run(null);
+    }
+
+    @AfterEach
+    public void tearDown(){
+        productSnapshotEngine.destroy();
+    }
+
+    @Test
+    public void refreshRereadsOnlyTheChangedProducts() throws Exception {
+        var mouse = row("Mouse", "50.00");
+
+        when(productRepository.findCatalogStamp()).thenReturn(new ProductCatalogStamp(2));
+        when(productChangeRepository.findChangedIds(1, 2)).thenReturn(Set.of(mouse.idProduct()));
+        when(productRepository.findSnapshotRows(Set.of(mouse.idProduct()))).thenReturn(List.of(mouse));
+        productSnapshotEngine.refreshAfterCommit(List.of(mouse.idProduct()));
+        awaitRefresh();
+
+        assertEquals(2, productSnapshotEngine.current().size());
+        assertEquals(new ProductCatalogStamp(2), productSnapshotEngine.current().stamp());
+        assertTrue(productSnapshotEngine.current().find(mouse.idProduct()).isPresent());
+        verify(productRepository, times(1)).streamSnapshotRows();
+        assertEquals(2.0, meterRegistry.get("product.snapshot.products").gauge().value());
+        assertTrue(meterRegistry.get("product.snapshot.memory").gauge().value() > 0);
+    }
+
+    @Test
+    public void failedRefreshDropsSnapshotUntilNextReload() throws Exception {
+        var id = UUID.randomUUID();
+
+        when(productRepository.findCatalogStamp()).thenReturn(new ProductCatalogStamp(2));
+        when(productChangeRepository.findChangedIds(1, 2)).thenReturn(Set.of(id));
+        when(productRepository.findSnapshotRows(Set.of(id))).thenThrow(new QueryTimeoutException("timeout"));
+        productSnapshotEngine.refreshAfterCommit(List.of(id));
+        awaitRefresh();
+
+        assertNull(productSnapshotEngine.current());
+        when(productRepository.streamSnapshotRows()).thenReturn(Stream.of(keyboard));
+        productSnapshotEngine.verify();
+        assertEquals(1, productSnapshotEngine.current().size());
+        assertEquals(1.0, meterRegistry.get("product.snapshot.refreshes").tag("type", "failed").counter().count());
+    }
+
+    @Test
+    public void readsGoToDatabaseUntilPendingWritesArePatchedIn_InOneRefresh() throws Exception {
+        var mouse = row("Mouse", "50.00");
+        var monitor = row("Monitor", "900.00");
+        var busy = new CountDownLatch(1);
+        productSnapshotEngine.scheduler.execute(() -> {
+            try {
+                busy.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        });
+
+        when(productRepository.findCatalogStamp()).thenReturn(new ProductCatalogStamp(3));
+        when(productChangeRepository.findChangedIds(1, 3)).thenReturn(Set.of(mouse.idProduct(), monitor.idProduct()));
+        when(productRepository.findSnapshotRows(Set.of(mouse.idProduct(), monitor.idProduct())))
+                .thenReturn(List.of(mouse, monitor));
+        productSnapshotEngine.refreshAfterCommit(List.of(mouse.idProduct()));
+        productSnapshotEngine.refreshAfterCommit(List.of(monitor.idProduct()));
+
+        assertNull(productSnapshotEngine.current());
+        busy.countDown();
+        awaitRefresh();
+        assertEquals(3, productSnapshotEngine.current().size());
+        verify(productRepository, times(1)).findSnapshotRows(any());
+        assertEquals(1.0, meterRegistry.get("product.snapshot.refreshes").tag("type", "incremental").counter().count());
+    }
+
+    @Test
+    public void verifyCatchesUp_WhenAnotherInstanceUpdatedAProduct(){
+        var cheaper = new ProductSnapshotRow(keyboard.idProduct(), "Keyboard", new BigDecimal("120.00"), 1L);
+
+        productSnapshotEngine.verify();
+        verify(productChangeRepository, never()).findChangedIds(anyLong(), anyLong());
+
+        // An update leaves the product count unchanged; only the change-log sequence moves.
+        when(productRepository.findCatalogStamp()).thenReturn(new ProductCatalogStamp(2));
+        when(productChangeRepository.findChangedIds(1, 2)).thenReturn(Set.of(keyboard.idProduct()));
+        when(productRepository.findSnapshotRows(Set.of(keyboard.idProduct()))).thenReturn(List.of(cheaper));
+        productSnapshotEngine.verify();
+
+        assertEquals(new BigDecimal("120.00"), productSnapshotEngine.current().find(keyboard.idProduct()).orElseThrow().value());
+        verify(productRepository, times(1)).streamSnapshotRows();
+    }
+
+    @Test
+    public void verifyReloads_WhenMoreChangesWereLoggedThanPatchingAllows(){
+        var mouse = row("Mouse", "50.00");
+
+        when(productRepository.findCatalogStamp()).thenReturn(new ProductCatalogStamp(4));
+        when(productRepository.streamSnapshotRows()).thenReturn(Stream.of(keyboard, mouse));
+        productSnapshotEngine.verify();
+
+        assertEquals(2, productSnapshotEngine.current().size());
+        assertEquals(new ProductCatalogStamp(4), productSnapshotEngine.current().stamp());
+        verify(productChangeRepository, never()).findChangedIds(anyLong(), anyLong());
+    }
+
+    private void awaitRefresh() throws Exception {
+        productSnapshotEngine.scheduler.submit(() -> {}).get();
+    }
+
+    private static ProductSnapshotRow row(String name, String value){
+        return new ProductSnapshotRow(UUID.randomUUID(), name, new BigDecimal(value), 0L);
+    }
+}
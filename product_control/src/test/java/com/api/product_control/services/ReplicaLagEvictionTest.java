@@ -0,0 +1,54 @@
+package com.api.product_control.services;
+
+import com.api.product_control.configs.CacheConfig;
+import com.api.product_control.configs.ProductDataSourceProperties;
+import com.api.product_control.models.ProductModel;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class ReplicaLagEvictionTest {
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.PRODUCTS_CACHE);
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final Cache hibernateCache = mock(Cache.class);
+
+    @Test
+    public void writtenProductsAreEvictedAgainOnceWindowHasPassed(){
+        var cache = mock(jakarta.persistence.Cache.class);
+        when(entityManagerFactory.getCache()).thenReturn(cache);
+        when(cache.unwrap(Cache.class)).thenReturn(hibernateCache);
+        var eviction = new ReplicaLagEviction(cacheManager, entityManagerFactory, new ProductDataSourceProperties(
+                List.of(new ProductDataSourceProperties.Replica("jdbc:mysql://replica/db", null, null)),
+                Duration.ZERO, Duration.ofMillis(50)));
+        var id = UUID.randomUUID();
+
+        eviction.evictAfterCommit(List.of(id));
+        // Refilled from a replica that had not applied the write yet.
+        cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).put(id, "stale");
+
+        verify(hibernateCache, timeout(2000)).evictDefaultQueryRegion();
+        verify(hibernateCache).evictEntityData(ProductModel.class, id);
+        assertNull(cacheManager.getCache(CacheConfig.PRODUCTS_CACHE).get(id));
+        eviction.destroy();
+    }
+
+    @Test
+    public void nothingIsScheduled_WithoutReplicas(){
+        var eviction = new ReplicaLagEviction(cacheManager, entityManagerFactory,
+                new ProductDataSourceProperties(List.of(), Duration.ZERO, Duration.ofSeconds(5)));
+
+        eviction.evictAfterCommit(List.of(UUID.randomUUID()));
+
+        assertNull(eviction.scheduler);
+        verifyNoInteractions(entityManagerFactory);
+    }
+}
@@ -0,0 +1,151 @@
+package com.api.product_control.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void concurrentCallsWithSameKeyShareOneExecution() throws Exception {
+        var coalescer = new RequestCoalescer<String, Integer>("test", true, Duration.ofSeconds(5), meterRegistry);
+        var executions = new AtomicInteger();
+        var leaderStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var results = new ArrayList<Integer>();
+
+        var leader = Thread.ofVirtual().start(() -> results.add(coalescer.execute("hot", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return executions.incrementAndGet();
+        })));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        List<Thread> followers = new ArrayList<>();
+        var followerResults = new int[10];
+        for(int i = 0; i < followerResults.length; i++){
+            int index = i;
+            followers.add(Thread.ofVirtual().start(
+                    () -> followerResults[index] = coalescer.execute("hot", executions::incrementAndGet)));
+        }
+        awaitWaiting(followers);
+        release.countDown();
+        leader.join();
+        for(Thread follower : followers){
+            follower.join();
+        }
+
+        assertEquals(1, executions.get());
+        assertEquals(List.of(1), results);
+        for(int result : followerResults){
+            assertEquals(1, result);
+        }
+        assertEquals(1, count("leader"));
+        assertEquals(followerResults.length, count("coalesced"));
+    }
+
+    @Test
+    public void followerRunsItsOwnCall_WhenWaitExceedsMaximum() throws Exception {
+        var coalescer = new RequestCoalescer<String, String>("test", true, Duration.ofMillis(50), meterRegistry);
+        var leaderStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = Thread.ofVirtual().start(() -> coalescer.execute("slow", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "leader";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+
+        assertEquals("follower", coalescer.execute("slow", () -> "follower"));
+        assertEquals(1, count("timeout"));
+        release.countDown();
+        leader.join();
+    }
+
+    @Test
+    public void followersReceiveLeaderFailure() throws Exception {
+        var coalescer = new RequestCoalescer<String, String>("test", true, Duration.ofSeconds(5), meterRegistry);
+        var leaderStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var failures = new AtomicReference<Throwable>();
+
+        var leader = Thread.ofVirtual().start(() -> assertThrows(IllegalStateException.class,
+                () -> coalescer.execute("broken", () -> {
+                    leaderStarted.countDown();
+                    await(release);
+                    throw new IllegalStateException("database down");
+                })));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        var follower = Thread.ofVirtual().start(() -> {
+            try {
+                coalescer.execute("broken", () -> "unused");
+            } catch (IllegalStateException ex) {
+                failures.set(ex);
+            }
+        });
+        awaitWaiting(List.of(follower));
+        release.countDown();
+        leader.join();
+        follower.join();
+
+        assertEquals("database down", failures.get().getMessage());
+        assertEquals("fresh", coalescer.execute("broken", () -> "fresh"));
+    }
+
+    @Test
+    public void callsAfterForgetAllStartANewExecution() throws Exception {
+        var coalescer = new RequestCoalescer<String, String>("test", true, Duration.ofSeconds(5), meterRegistry);
+        var leaderStarted = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        var leader = Thread.ofVirtual().start(() -> coalescer.execute("hot", () -> {
+            leaderStarted.countDown();
+            await(release);
+            return "before write";
+        }));
+        assertTrue(leaderStarted.await(5, TimeUnit.SECONDS));
+        coalescer.forgetAll();
+
+        assertEquals("after write", coalescer.execute("hot", () -> "after write"));
+        release.countDown();
+        leader.join();
+        assertEquals(2, count("leader"));
+    }
+
+    private double count(String outcome){
+        return meterRegistry.get(RequestCoalescer.METRIC).tag("outcome", outcome).counter().count();
+    }
+
+    // A follower parked in a timed get() reports TIMED_WAITING on a platform thread but WAITING on a virtual one.
+    private static void awaitWaiting(List<Thread> followers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while(!followers.stream().allMatch(RequestCoalescerTest::isWaiting)){
+            assertTrue(System.nanoTime() < deadline, "followers never started waiting for the leader");
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean isWaiting(Thread thread){
+        Thread.State state = thread.getState();
+        return state == Thread.State.WAITING || state == Thread.State.TIMED_WAITING;
+    }
+
+    private static void await(CountDownLatch latch){
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}